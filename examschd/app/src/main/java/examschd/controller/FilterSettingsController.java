@@ -45,6 +45,9 @@ public class FilterSettingsController {
     private int savedExamStartHour = 9;
     private int savedExamEndHour = 21;
 
+    // True once the user closed the popup with Save
+    private boolean saved;
+
     /* ===================== INIT ===================== */
 
     @FXML
@@ -179,8 +182,13 @@ public class FilterSettingsController {
 
     /* ===================== ACTIONS ===================== */
 
+    public boolean isSaved() {
+        return saved;
+    }
+
     @FXML
     private void saveSettings() {
+        saved = true;
         closePopup();
     }
 
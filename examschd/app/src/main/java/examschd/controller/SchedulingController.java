@@ -2,9 +2,13 @@ package examschd.controller;
 
 import examschd.daoimpl.ClassroomDAOImpl;
 import examschd.model.*;
+import examschd.service.CancellationToken;
+import examschd.service.ConsoleSchedulingListener;
 import examschd.service.ImportService;
+import examschd.service.ScheduleDelta;
 import examschd.service.Scheduler;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -26,6 +30,10 @@ import java.io.PrintWriter;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 import javafx.animation.Interpolator;
 import javafx.animation.Transition;
@@ -52,12 +60,16 @@ public class SchedulingController {
     @FXML private ComboBox<String> classroomCombo;
     @FXML private Button showClassroomBtn;
     @FXML private Button generateBtn;   
+    @FXML private Button regenerateBtn;
     @FXML private ScrollPane scheduleScroll;
     @FXML private Button gotItBtn;
     @FXML private Button exportBtn;
     @FXML private Button deleteStudentBtn;
     @FXML private Button deleteClassroomBtn;
     @FXML private Button editClassroomBtn;
+    @FXML private Button importBtn;
+    @FXML private ProgressBar scheduleProgress;
+    @FXML private Button cancelScheduleBtn;
 
     @FXML
     private VBox helpOverlay;
@@ -93,7 +105,22 @@ public class SchedulingController {
     private Integer filteredStudentId = null;  // Track student filter for room display
 
     private final ImportService importService = new ImportService();
-    private final Scheduler scheduler = new Scheduler();
+    private final Scheduler scheduler = new Scheduler(
+        new ConsoleSchedulingListener(ConsoleSchedulingListener.Level.SUMMARY) {
+            @Override
+            public void onProgress(Phase phase, int placedCount, int bestCount, int courseCount) {
+                // Runs on the scheduler thread: time slots show the best result so far,
+                // classroom assignment the exams that already have rooms
+                double progress = phase == Phase.CLASSROOM_ASSIGNMENT
+                    ? (double) placedCount / Math.max(1, bestCount)
+                    : (double) bestCount / Math.max(1, courseCount);
+                Platform.runLater(() -> scheduleProgress.setProgress(progress));
+            }
+        });
+
+    // True while a schedule is being generated in the background
+    private final BooleanProperty scheduling = new SimpleBooleanProperty(false);
+    private CancellationToken scheduleCancellation;
 
 
 
@@ -112,7 +139,15 @@ public class SchedulingController {
             startDatePicker.valueProperty().isNull()
                 .or(endDatePicker.valueProperty().isNull())
                 .or(dateRangeApplied.not())
+                .or(scheduling)
         );
+        regenerateBtn.disableProperty().bind(generateBtn.disableProperty());
+
+        // The scheduler reads the loaded data, so keep it unchanged while it runs
+        for (Button button : List.of(openFiltersBtn, importBtn, applyDateRangeBtn,
+                deleteStudentBtn, deleteClassroomBtn, editClassroomBtn)) {
+            button.disableProperty().bind(scheduling);
+        }
         addGotItHoverColorAnimation();
         exportBtn.setDisable(true);
         exportBtn.setTooltip(
@@ -310,14 +345,9 @@ public class SchedulingController {
                     // If filtering by student, only show their assigned classroom
                     if (filteredStudentId != null) {
                         for (ExamPartition p : partitions) {
-                            if (p != null && p.getStudentAssignments() != null) {
-                                for (StudentAssignment sa : p.getStudentAssignments()) {
-                                    if (sa.getStudent() != null && sa.getStudent().getId() == filteredStudentId) {
-                                        if (p.getClassroom() != null) {
-                                            rooms.add(p.getClassroom().getName());
-                                        }
-                                        break;
-                                    }
+                            if (p != null && p.hasStudent(filteredStudentId)) {
+                                if (p.getClassroom() != null) {
+                                    rooms.add(p.getClassroom().getName());
                                 }
                             }
                         }
@@ -706,19 +736,118 @@ public class SchedulingController {
             System.out.println("Please click Apply Date Range first.");
             return;
         }
+        generateSchedule();
+    }
 
+    /**
+     * Generates a new schedule that keeps the exams of the shown schedule where
+     * they are, when they still fit; the other exams are scheduled around them.
+     */
+    @FXML
+    private void onRegenerateKeepingPlacements() {
+        if (!dateRangeApplied.get()) {
+            System.out.println("Please click Apply Date Range first.");
+            return;
+        }
+        if (preparedScheduleResult == null) {
+            showAlert("Please generate a schedule first.");
+            return;
+        }
+        userConfig.setSeedSchedule(preparedScheduleResult.getStartTimes(), startDatePicker.getValue());
+        generateSchedule();
+    }
+
+    private void generateSchedule() {
+        runScheduling(
+            cancellation -> scheduler.generateScheduleAsync(
+                allStudentsList,
+                allCourses,
+                allClassrooms,
+                allEnrollments,
+                userConfig,
+                startDatePicker.getValue(),
+                endDatePicker.getValue(),
+                cancellation
+            ),
+            () -> {}
+        );
+    }
+
+    /**
+     * Runs a scheduler call in the background so the window stays responsive,
+     * with the progress bar and the cancel button shown meanwhile. The result
+     * replaces the prepared schedule; if the call is cancelled or fails,
+     * onStopped runs instead.
+     */
+    private void runScheduling(Function<CancellationToken, CompletableFuture<ScheduleResult>> call,
+                               Runnable onStopped) {
         filteredStudentId = null;
 
-        preparedScheduleResult = scheduler.generateSchedule(
-            allStudentsList,
-            allCourses,
-            allClassrooms,
-            allEnrollments,
-            userConfig,
-            startDatePicker.getValue(),
-            endDatePicker.getValue()
+        CancellationToken cancellation = new CancellationToken();
+        scheduleCancellation = cancellation;
+        setScheduling(true);
+
+        call.apply(cancellation).whenComplete((result, error) -> Platform.runLater(() -> {
+            setScheduling(false);
+            // A seed only applies to the run it was set for
+            userConfig.setSeedSchedule(new LinkedHashMap<>(), null);
+
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                if (cause instanceof CancellationException) {
+                    System.out.println("Scheduling cancelled.");
+                } else {
+                    cause.printStackTrace();
+                }
+                onStopped.run();
+                return;
+            }
+
+            preparedScheduleResult = result;
+            showPreparedSchedule();
+        }));
+    }
+
+    @FXML
+    private void onCancelSchedule() {
+        if (scheduleCancellation != null) {
+            scheduleCancellation.cancel();
+        }
+    }
+
+    private void setScheduling(boolean running) {
+        scheduling.set(running);
+        scheduleProgress.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+        scheduleProgress.setVisible(running);
+        scheduleProgress.setManaged(running);
+        cancelScheduleBtn.setVisible(running);
+        cancelScheduleBtn.setManaged(running);
+    }
+
+    /**
+     * Updates the prepared schedule after an edit instead of dropping it:
+     * the exams the edit does not touch keep their time slots. The edit is
+     * already made, so a cancelled or failed repair drops the schedule.
+     */
+    private void repairSchedule(ScheduleDelta delta) {
+        ScheduleResult previousResult = preparedScheduleResult;
+        runScheduling(
+            cancellation -> scheduler.repairAsync(
+                previousResult,
+                delta,
+                allStudentsList,
+                allCourses,
+                allClassrooms,
+                userConfig,
+                startDatePicker.getValue(),
+                endDatePicker.getValue(),
+                cancellation
+            ),
+            this::resetScheduleUI
         );
+    }
 
+    private void showPreparedSchedule() {
         renderSchedule(preparedScheduleResult.getSchedule());
         displayUnscheduledCourses(preparedScheduleResult);
 
@@ -757,10 +886,29 @@ public class SchedulingController {
             popup.setScene(new Scene(root));
             popup.showAndWait();
 
+            // Cancelled: keep the settings and the schedule as they are
+            if (!ctrl.isSaved()) {
+                return;
+            }
+
+            ExamConfig previousConfig = userConfig;
             userConfig = ctrl.buildConfig();
-            preparedScheduleResult = null;
 
-            if (startDatePicker.getValue() != null && endDatePicker.getValue() != null) {
+            if (preparedScheduleResult != null) {
+                // Only the exams whose duration changed need new time slots
+                ScheduleDelta delta = new ScheduleDelta();
+                userConfig.getCourseDurations().forEach((name, minutes) -> {
+                    for (Course c : allCourses) {
+                        if (c.getCourseName().equals(name) && c.getDurationMinutes() != minutes) {
+                            delta.changeDuration(name, minutes);
+                        }
+                    }
+                });
+                // The repair checks the kept exams against the new settings
+                if (!delta.isEmpty() || settingsChanged(previousConfig, userConfig)) {
+                    repairSchedule(delta);
+                }
+            } else if (startDatePicker.getValue() != null && endDatePicker.getValue() != null) {
                 renderEmptySchedule(
                     startDatePicker.getValue(),
                     endDatePicker.getValue()
@@ -772,6 +920,17 @@ public class SchedulingController {
         }
     }
 
+    /**
+     * @return true if a setting of the filter popup other than the durations differs
+     */
+    private static boolean settingsChanged(ExamConfig before, ExamConfig after) {
+        return before.getMaxExamsPerDay() != after.getMaxExamsPerDay()
+            || before.getRoomTurnoverMinutes() != after.getRoomTurnoverMinutes()
+            || before.getStudentMinGapMinutes() != after.getStudentMinGapMinutes()
+            || before.getExamStartHour() != after.getExamStartHour()
+            || before.getExamEndHour() != after.getExamEndHour();
+    }
+
     @FXML
     private void exportSchedule() {
 
@@ -896,11 +1055,15 @@ public class SchedulingController {
         studentCombo.setValue(null);
         filteredStudentId = null;
         allStudentsList.removeIf(s -> s.getId() == studentId);
+        for (Course c : allCourses) {
+            c.getStudents().removeIf(s -> s.getId() == studentId);
+        }
 
-        preparedScheduleResult = null;
-        exportBtn.setDisable(true);
-
-        resetScheduleUI();
+        if (preparedScheduleResult != null) {
+            repairSchedule(new ScheduleDelta().removeStudent(studentId));
+        } else {
+            resetScheduleUI();
+        }
         showInfo("Student deleted successfully.");
     }
 
@@ -948,10 +1111,11 @@ public class SchedulingController {
         classroomCombo.setValue(null);
         allClassrooms.removeIf(c -> c.getClassroomId() == classroomId);
 
-        preparedScheduleResult = null;
-        exportBtn.setDisable(true);
-
-        resetScheduleUI();
+        if (preparedScheduleResult != null) {
+            repairSchedule(new ScheduleDelta().removeClassroom(classroomId));
+        } else {
+            resetScheduleUI();
+        }
         showInfo("Classroom deleted successfully.");
     }
 
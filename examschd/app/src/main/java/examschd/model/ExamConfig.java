@@ -1,6 +1,10 @@
 package examschd.model;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class ExamConfig {
@@ -15,6 +19,36 @@ public class ExamConfig {
     private int examStartHour = 9;    // 9:00 AM
     private int examEndHour = 21;     // 9:00 PM
 
+    // Minutes between the start times a new exam may open at (e.g. 15, 30 or 60)
+    private int startTimeGranularityMinutes = 30;
+
+    // Wall-clock budget for the local-search pass that tries to fit unscheduled courses (0 = off)
+    private long improvementTimeLimitMillis = 0;
+
+    // Randomized-restart portfolio: number of extra noisy greedy runs (0 = off),
+    // the seed that makes them reproducible, and their wall-clock budget (0 = no limit)
+    private int portfolioRestarts = 0;
+    private long portfolioSeed = 0;
+    private long portfolioTimeLimitMillis = 0;
+
+    // Solve groups of courses that share no students separately, then merge them
+    private boolean decomposeByComponents = false;
+
+    // Wall-clock budget for the exact branch-and-bound search on small instances (0 = off)
+    private long exactTimeLimitMillis = 0;
+
+    // Seat each exam in the free rooms with the fewest wasted seats (then the fewest rooms)
+    // instead of the largest free rooms first
+    private boolean optimalRoomSelection = false;
+
+    // Warm start: the start time of each course (by name) in a previous schedule, tried first
+    // (empty = off), and that schedule's first exam day (null = the same first day as this run)
+    private Map<String, LocalDateTime> seedStartTimes = new LinkedHashMap<>();
+    private LocalDate seedFirstDay = null;
+
+    // Exams fixed by the registrar; they are kept as given and the rest is scheduled around them
+    private List<PinnedExam> pinnedExams = new ArrayList<>();
+
     public ExamConfig() {
 
     }
@@ -79,6 +113,99 @@ public class ExamConfig {
         this.examEndHour = examEndHour;
     }
 
+    public int getStartTimeGranularityMinutes() {
+        return startTimeGranularityMinutes;
+    }
+
+    public void setStartTimeGranularityMinutes(int startTimeGranularityMinutes) {
+        this.startTimeGranularityMinutes = startTimeGranularityMinutes;
+    }
+
+    public long getImprovementTimeLimitMillis() {
+        return improvementTimeLimitMillis;
+    }
+
+    public void setImprovementTimeLimitMillis(long improvementTimeLimitMillis) {
+        this.improvementTimeLimitMillis = improvementTimeLimitMillis;
+    }
+
+    public int getPortfolioRestarts() {
+        return portfolioRestarts;
+    }
+
+    public void setPortfolioRestarts(int portfolioRestarts) {
+        this.portfolioRestarts = portfolioRestarts;
+    }
+
+    public long getPortfolioSeed() {
+        return portfolioSeed;
+    }
+
+    public void setPortfolioSeed(long portfolioSeed) {
+        this.portfolioSeed = portfolioSeed;
+    }
+
+    public long getPortfolioTimeLimitMillis() {
+        return portfolioTimeLimitMillis;
+    }
+
+    public void setPortfolioTimeLimitMillis(long portfolioTimeLimitMillis) {
+        this.portfolioTimeLimitMillis = portfolioTimeLimitMillis;
+    }
+
+    public boolean isDecomposeByComponents() {
+        return decomposeByComponents;
+    }
+
+    public void setDecomposeByComponents(boolean decomposeByComponents) {
+        this.decomposeByComponents = decomposeByComponents;
+    }
+
+    public long getExactTimeLimitMillis() {
+        return exactTimeLimitMillis;
+    }
+
+    public void setExactTimeLimitMillis(long exactTimeLimitMillis) {
+        this.exactTimeLimitMillis = exactTimeLimitMillis;
+    }
+
+    public boolean isOptimalRoomSelection() {
+        return optimalRoomSelection;
+    }
+
+    public void setOptimalRoomSelection(boolean optimalRoomSelection) {
+        this.optimalRoomSelection = optimalRoomSelection;
+    }
+
+    public Map<String, LocalDateTime> getSeedStartTimes() {
+        return seedStartTimes;
+    }
+
+    public LocalDate getSeedFirstDay() {
+        return seedFirstDay;
+    }
+
+    /**
+     * Seeds the next run with a previous schedule. Seeded exams keep their day
+     * number within the exam period and their time of day, so a schedule from
+     * an earlier term is moved by the days between the two first days.
+     *
+     * @param startTimes start time per course name (see ScheduleResult.getStartTimes)
+     * @param firstDay the first exam day of the previous schedule (null = the same as the run)
+     */
+    public void setSeedSchedule(Map<String, LocalDateTime> startTimes, LocalDate firstDay) {
+        this.seedStartTimes = startTimes;
+        this.seedFirstDay = firstDay;
+    }
+
+    public List<PinnedExam> getPinnedExams() {
+        return pinnedExams;
+    }
+
+    public void setPinnedExams(List<PinnedExam> pinnedExams) {
+        this.pinnedExams = pinnedExams;
+    }
+
     @Override
     public String toString() {
         return "ExamConfig{" +
@@ -88,6 +215,17 @@ public class ExamConfig {
                 ", courseDurations=" + courseDurations +
                 ", examStartHour=" + examStartHour +
                 ", examEndHour=" + examEndHour +
+                ", startTimeGranularityMinutes=" + startTimeGranularityMinutes +
+                ", improvementTimeLimitMillis=" + improvementTimeLimitMillis +
+                ", portfolioRestarts=" + portfolioRestarts +
+                ", portfolioSeed=" + portfolioSeed +
+                ", portfolioTimeLimitMillis=" + portfolioTimeLimitMillis +
+                ", decomposeByComponents=" + decomposeByComponents +
+                ", exactTimeLimitMillis=" + exactTimeLimitMillis +
+                ", optimalRoomSelection=" + optimalRoomSelection +
+                ", seedStartTimes=" + seedStartTimes +
+                ", seedFirstDay=" + seedFirstDay +
+                ", pinnedExams=" + pinnedExams +
                 '}';
     }
 }
@@ -10,18 +10,65 @@ public class ExamPartition {
     // Relationship: Classroom "hosts" Partition
     private Classroom classroom;
 
-    // Relationship: Composition (Diamond) - Partition contains Assignments
+    // Seating: seatedStudents[seatFrom, seatFrom + seatCount) sit in seats 1..seatCount.
+    // The array is shared by all partitions of a session; StudentAssignment objects
+    // are only built when getStudentAssignments() is called.
+    private Student[] seatedStudents;
+    private int seatFrom;
+    private int seatCount;
+    private int firstAssignmentId;
+
+    // Relationship: Composition (Diamond) - Partition contains Assignments (built on demand)
     private List<StudentAssignment> studentAssignments;
 
     public ExamPartition(int partitionId, int capacityAssigned, Classroom classroom) {
         this.partitionId = partitionId;
         this.capacityAssigned = capacityAssigned;
         this.classroom = classroom;
-        this.studentAssignments = new ArrayList<>();
+    }
+
+    /**
+     * Seats students[from, from + count) in this partition, in seat order, without
+     * creating an assignment per student. Assignment ids run from firstAssignmentId.
+     */
+    public void seatStudents(Student[] students, int from, int count, int firstAssignmentId) {
+        this.seatedStudents = students;
+        this.seatFrom = from;
+        this.seatCount = count;
+        this.firstAssignmentId = firstAssignmentId;
+        this.studentAssignments = null;
     }
 
     public void addAssignment(StudentAssignment assignment) {
-        this.studentAssignments.add(assignment);
+        getStudentAssignments().add(assignment);
+        seatCount++;
+    }
+
+    /**
+     * @return the number of students seated in this partition
+     */
+    public int getSeatedCount() {
+        return seatCount;
+    }
+
+    /**
+     * @return true if the student with this id sits in this partition
+     */
+    public boolean hasStudent(int studentId) {
+        if (studentAssignments != null) {
+            for (StudentAssignment assignment : studentAssignments) {
+                if (assignment.getStudent() != null && assignment.getStudent().getId() == studentId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (int i = seatFrom; i < seatFrom + seatCount; i++) {
+            if (seatedStudents[i].getId() == studentId) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public int getPartitionId() { 
@@ -36,7 +83,20 @@ public class ExamPartition {
         return classroom; 
     }
 
-    public List<StudentAssignment> getStudentAssignments() { 
-        return studentAssignments; 
+    /**
+     * Builds the assignments of the seated students the first time it is called;
+     * later calls return the same list.
+     */
+    public List<StudentAssignment> getStudentAssignments() {
+        if (studentAssignments == null) {
+            studentAssignments = new ArrayList<>(seatCount);
+            for (int seat = 0; seat < seatCount; seat++) {
+                studentAssignments.add(new StudentAssignment(
+                    firstAssignmentId + seat, seat + 1, seatedStudents[seatFrom + seat], this
+                ));
+            }
+            seatedStudents = null;
+        }
+        return studentAssignments;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package examschd.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * An exam fixed by the registrar: the scheduler keeps it at its start time
+ * (and in its classrooms, if any are given) and schedules the other exams around it.
+ */
+public class PinnedExam {
+
+    private final String courseName;
+    private final LocalDateTime startTime;
+    // Classroom names the exam must use; empty = any rooms, chosen by the scheduler
+    private final List<String> classroomNames;
+
+    public PinnedExam(String courseName, LocalDateTime startTime) {
+        this(courseName, startTime, List.of());
+    }
+
+    public PinnedExam(String courseName, LocalDateTime startTime, List<String> classroomNames) {
+        this.courseName = courseName;
+        this.startTime = startTime;
+        this.classroomNames = classroomNames;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public List<String> getClassroomNames() {
+        return classroomNames;
+    }
+
+    @Override
+    public String toString() {
+        return "PinnedExam{" +
+                "courseName='" + courseName + '\'' +
+                ", startTime=" + startTime +
+                ", classroomNames=" + classroomNames +
+                '}';
+    }
+}
@@ -1,7 +1,9 @@
 package examschd.model;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -40,4 +42,17 @@ public class ScheduleResult {
     public SchedulingFailureReason getFailureReason(Course course) {
         return failureReasons.get(course);
     }
+
+    /**
+     * @return the start time of every scheduled course, by course name
+     */
+    public Map<String, LocalDateTime> getStartTimes() {
+        Map<String, LocalDateTime> startTimes = new LinkedHashMap<>();
+        for (List<ExamSession> sessions : schedule.values()) {
+            for (ExamSession session : sessions) {
+                startTimes.putIfAbsent(session.getCourse().getCourseName(), session.getStartTime());
+            }
+        }
+        return startTimes;
+    }
 }
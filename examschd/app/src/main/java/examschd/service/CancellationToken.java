@@ -0,0 +1,31 @@
+package examschd.service;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Lets another thread stop a running scheduling call.
+ * The scheduler polls the token between courses, attempts and phases, so a
+ * cancelled run stops within one course placement rather than at once.
+ * A token can be cancelled once and is never reset.
+ */
+public final class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @throws CancellationException if the token has been cancelled
+     */
+    void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Scheduling was cancelled");
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package examschd.service;
+
+import java.util.Arrays;
+
+/**
+ * Course conflict graph used by the scheduler.
+ * Two courses are neighbours when they share at least one student.
+ * The graph is built once per scheduling run so that ordering heuristics,
+ * Phase 1 checks and failure diagnostics don't have to rescan student lists.
+ *
+ * Neighbours are stored in CSR form (one offsets array plus one flat array),
+ * sorted ascending per course so adjacency can be tested with a binary search.
+ * Course indexes are the dense course ids of the {@link SchedulingProblem}.
+ */
+final class ConflictGraph {
+
+    private final int[] neighbourOffsets;
+    private final int[] neighbours;
+    private final int[] sharedStudents;
+
+    private ConflictGraph(int[] neighbourOffsets, int[] neighbours, int[] sharedStudents) {
+        this.neighbourOffsets = neighbourOffsets;
+        this.neighbours = neighbours;
+        this.sharedStudents = sharedStudents;
+    }
+
+    /**
+     * Builds the conflict graph of a compiled problem.
+     * Cost is proportional to the sum over students of (courses per student)^2,
+     * instead of comparing every pair of course student lists.
+     *
+     * @param problem the compiled scheduling problem
+     * @return the conflict graph
+     */
+    static ConflictGraph build(SchedulingProblem problem) {
+        int courseCount = problem.courseCount();
+        int[] courseStudents = problem.courseStudents();
+        int[] studentCourses = problem.studentCourses();
+
+        // Count shared students per neighbouring course, one course at a time
+        int[] sharedCount = new int[courseCount];
+        int[] touched = new int[courseCount];
+        int[][] rowNeighbours = new int[courseCount][];
+        int[][] rowWeights = new int[courseCount][];
+        int edgeTotal = 0;
+
+        for (int i = 0; i < courseCount; i++) {
+            int touchedCount = 0;
+            for (int k = problem.courseStudentStart(i); k < problem.courseStudentEnd(i); k++) {
+                int student = courseStudents[k];
+                for (int m = problem.studentCourseStart(student); m < problem.studentCourseEnd(student); m++) {
+                    int other = studentCourses[m];
+                    if (other == i || problem.course(other).equals(problem.course(i))) {
+                        continue;
+                    }
+                    if (sharedCount[other]++ == 0) {
+                        touched[touchedCount++] = other;
+                    }
+                }
+            }
+
+            int[] row = Arrays.copyOf(touched, touchedCount);
+            Arrays.sort(row);
+            int[] weights = new int[touchedCount];
+            for (int k = 0; k < touchedCount; k++) {
+                weights[k] = sharedCount[row[k]];
+                sharedCount[row[k]] = 0;
+            }
+
+            rowNeighbours[i] = row;
+            rowWeights[i] = weights;
+            edgeTotal += touchedCount;
+        }
+
+        int[] offsets = new int[courseCount + 1];
+        int[] flatNeighbours = new int[edgeTotal];
+        int[] flatWeights = new int[edgeTotal];
+        for (int i = 0; i < courseCount; i++) {
+            offsets[i + 1] = offsets[i] + rowNeighbours[i].length;
+            System.arraycopy(rowNeighbours[i], 0, flatNeighbours, offsets[i], rowNeighbours[i].length);
+            System.arraycopy(rowWeights[i], 0, flatWeights, offsets[i], rowWeights[i].length);
+        }
+
+        return new ConflictGraph(offsets, flatNeighbours, flatWeights);
+    }
+
+    int courseCount() {
+        return neighbourOffsets.length - 1;
+    }
+
+    /**
+     * The conflict score of a course: the number of OTHER courses that share students with it.
+     */
+    int degree(int course) {
+        return neighbourOffsets[course + 1] - neighbourOffsets[course];
+    }
+
+    /**
+     * Total number of (neighbour, student) pairs, i.e. the sum of shared-student weights.
+     */
+    int totalSharedStudents(int course) {
+        int total = 0;
+        for (int k = neighbourOffsets[course]; k < neighbourOffsets[course + 1]; k++) {
+            total += sharedStudents[k];
+        }
+        return total;
+    }
+
+    /**
+     * @return the sorted neighbour indexes of a course (a copy)
+     */
+    int[] neighbours(int course) {
+        return Arrays.copyOfRange(neighbours, neighbourOffsets[course], neighbourOffsets[course + 1]);
+    }
+
+    boolean areAdjacent(int courseA, int courseB) {
+        return Arrays.binarySearch(neighbours, neighbourOffsets[courseA],
+            neighbourOffsets[courseA + 1], courseB) >= 0;
+    }
+
+    /**
+     * @return the number of students two courses share (0 when not adjacent)
+     */
+    int sharedStudents(int courseA, int courseB) {
+        int position = Arrays.binarySearch(neighbours, neighbourOffsets[courseA],
+            neighbourOffsets[courseA + 1], courseB);
+        return position >= 0 ? sharedStudents[position] : 0;
+    }
+
+    /**
+     * The graph of a union of components, numbered like {@link SchedulingProblem#restrict}:
+     * course i of the result is course courseIds[i] of this graph. No edge leaves a
+     * component, so nothing is rescanned; the neighbour rows are relabelled, and they
+     * stay sorted because the relabelling keeps the course order.
+     *
+     * @param courseIds course ids of this graph, ascending, including every neighbour of each
+     * @return the graph of those courses
+     */
+    ConflictGraph restrict(int[] courseIds) {
+        int[] offsets = new int[courseIds.length + 1];
+        for (int i = 0; i < courseIds.length; i++) {
+            offsets[i + 1] = offsets[i] + degree(courseIds[i]);
+        }
+        int[] flatNeighbours = new int[offsets[courseIds.length]];
+        int[] flatWeights = new int[offsets[courseIds.length]];
+        int position = 0;
+        for (int course : courseIds) {
+            for (int k = neighbourOffsets[course]; k < neighbourOffsets[course + 1]; k++) {
+                flatNeighbours[position] = Arrays.binarySearch(courseIds, neighbours[k]);
+                flatWeights[position++] = sharedStudents[k];
+            }
+        }
+        return new ConflictGraph(offsets, flatNeighbours, flatWeights);
+    }
+
+    /**
+     * Labels the connected components of the graph: courses in different
+     * components share no students, directly or through other courses.
+     * Components are numbered in order of their lowest course id.
+     *
+     * @return the component id of every course
+     */
+    int[] components() {
+        int courseCount = courseCount();
+        int[] componentOf = new int[courseCount];
+        Arrays.fill(componentOf, -1);
+        int[] stack = new int[courseCount];
+        int componentCount = 0;
+
+        for (int root = 0; root < courseCount; root++) {
+            if (componentOf[root] >= 0) {
+                continue;
+            }
+            componentOf[root] = componentCount;
+            int top = 0;
+            stack[top++] = root;
+            while (top > 0) {
+                int course = stack[--top];
+                for (int k = neighbourOffsets[course]; k < neighbourOffsets[course + 1]; k++) {
+                    int other = neighbours[k];
+                    if (componentOf[other] < 0) {
+                        componentOf[other] = componentCount;
+                        stack[top++] = other;
+                    }
+                }
+            }
+            componentCount++;
+        }
+        return componentOf;
+    }
+}
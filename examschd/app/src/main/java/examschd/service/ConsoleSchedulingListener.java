@@ -0,0 +1,133 @@
+package examschd.service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import examschd.model.Classroom;
+import examschd.model.Course;
+import examschd.model.ExamConfig;
+import examschd.model.ScheduleResult;
+import examschd.model.SchedulingFailureReason;
+
+/**
+ * Prints scheduler progress to the console.
+ * At SUMMARY level only phase boundaries, strategy results and failures are printed;
+ * DETAIL also prints one line per placed exam.
+ */
+public class ConsoleSchedulingListener implements SchedulingListener {
+
+    public enum Level {
+        SUMMARY,
+        DETAIL
+    }
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final Level level;
+
+    public ConsoleSchedulingListener(Level level) {
+        this.level = level;
+    }
+
+    @Override
+    public void onScheduleStart(ExamConfig config, List<Classroom> classrooms) {
+        System.out.println("=== Generating Schedule ===");
+        System.out.println("Config: startHour=" + config.getExamStartHour() +
+            ", endHour=" + config.getExamEndHour() +
+            ", maxExamsPerDay=" + config.getMaxExamsPerDay() +
+            ", roomTurnover=" + config.getRoomTurnoverMinutes() +
+            "min, studentGap=" + config.getStudentMinGapMinutes() + "min");
+        System.out.println("Classrooms available: " + classrooms.size());
+        if (level == Level.DETAIL) {
+            for (Classroom c : classrooms) {
+                System.out.println("  - " + c.getName() + " (capacity: " + c.getCapacity() + ")");
+            }
+        }
+    }
+
+    @Override
+    public void onBoundsComputed(int upperBound, int courseCount,
+                                 Map<Course, SchedulingFailureReason> unschedulable) {
+        System.out.println("Upper bound: at most " + upperBound + "/" + courseCount + " courses can be scheduled");
+        for (Map.Entry<Course, SchedulingFailureReason> entry : unschedulable.entrySet()) {
+            System.out.println("✗ Unschedulable: " + entry.getKey().getCourseName() +
+                " (" + entry.getValue().getDisplayMessage() + ")");
+        }
+        System.out.println("\n=== Trying Multiple Scheduling Strategies ===");
+    }
+
+    @Override
+    public void onStrategyEvaluated(String strategyName, int scheduledCount, int courseCount) {
+        System.out.println("Strategy '" + strategyName + "': " +
+            scheduledCount + "/" + courseCount + " courses scheduled");
+    }
+
+    @Override
+    public void onStrategySelected(String strategyName, int scheduledCount, int courseCount) {
+        System.out.println("\nBest strategy: " + strategyName +
+            " (" + scheduledCount + "/" + courseCount + " courses)");
+        System.out.println("\n=== Running Final Schedule with Best Strategy ===");
+    }
+
+    @Override
+    public void onPhaseStart(Phase phase) {
+        switch (phase) {
+            case TIME_SLOT_ASSIGNMENT -> System.out.println("\n=== PHASE 1: TIME SLOT ASSIGNMENT ===");
+            case EXACT_SEARCH -> System.out.println("\n=== EXACT SEARCH: BRANCH AND BOUND ===");
+            case IMPROVEMENT -> System.out.println("\n=== IMPROVEMENT: LOCAL SEARCH ===");
+            case CLASSROOM_ASSIGNMENT -> System.out.println("\n=== PHASE 2: CLASSROOM ASSIGNMENT ===");
+        }
+    }
+
+    @Override
+    public void onPhaseEnd(Phase phase, int completedCount, int totalCount) {
+        switch (phase) {
+            case TIME_SLOT_ASSIGNMENT -> System.out.println("=== PHASE 1 COMPLETE: " + completedCount + "/" +
+                totalCount + " courses time-slotted ===\n");
+            case EXACT_SEARCH -> System.out.println("=== EXACT SEARCH COMPLETE: " + completedCount +
+                " courses scheduled" + (completedCount == totalCount ? " (optimal)" : ", at most " + totalCount) +
+                " ===\n");
+            case IMPROVEMENT -> System.out.println("=== IMPROVEMENT COMPLETE: " + completedCount + "/" +
+                totalCount + " unscheduled courses fitted ===\n");
+            case CLASSROOM_ASSIGNMENT -> System.out.println("=== PHASE 2 COMPLETE: " + completedCount +
+                " exams assigned to classrooms ===\n");
+        }
+    }
+
+    @Override
+    public void onExamTimeSlotted(Course course, LocalDateTime startTime, boolean newTimeSlot) {
+        if (level == Level.DETAIL) {
+            System.out.println((newTimeSlot ? "✓ Phase 1 Scheduled: " : "✓ Phase 1 Bin-packed: ") +
+                course.getCourseName() + " at " + startTime.format(TIME_FORMAT));
+        }
+    }
+
+    @Override
+    public void onExamUnscheduled(Course course, SchedulingFailureReason reason,
+                                  int conflictingCourses, int sharedEnrollments) {
+        System.out.println("✗ Phase 1 Failed: " + course.getCourseName() +
+            " could not be time-slotted (" + reason.getDisplayMessage() +
+            "; conflicts with " + conflictingCourses + " courses over " +
+            sharedEnrollments + " shared enrollments)");
+    }
+
+    @Override
+    public void onRoomsAssigned(Course course, int roomCount) {
+        if (level == Level.DETAIL) {
+            System.out.println("✓ Phase 2 Assigned: " + course.getCourseName() + " in " + roomCount + " room(s)");
+        }
+    }
+
+    @Override
+    public void onRoomAssignmentFailed(Course course) {
+        System.err.println("PHASE 2 FAILURE: Cannot assign rooms for " + course.getCourseName() +
+            " - THIS INDICATES A BUG IN PHASE 1 CAPACITY TRACKING!");
+    }
+
+    @Override
+    public void onScheduleComplete(ScheduleResult result) {
+        System.out.println("=== Schedule Complete ===");
+    }
+}
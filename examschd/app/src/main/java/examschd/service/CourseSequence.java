@@ -0,0 +1,36 @@
+package examschd.service;
+
+/**
+ * The order in which Phase 1 tries to place courses.
+ * Static orderings hand out a precomputed array; dynamic ones (such as
+ * {@link DsaturSequence}) pick the next course from what has been placed so far.
+ * A sequence is stateful and belongs to a single Phase 1 run.
+ */
+interface CourseSequence {
+
+    /**
+     * @return the next course id to place, or -1 when every course has been handed out
+     */
+    int next();
+
+    /**
+     * Called after the course last returned by {@link #next()} got a time slot,
+     * and for every pinned exam before the first call to {@link #next()}.
+     */
+    default void placed(int course, int startMinute) {}
+
+    /**
+     * @return a sequence that hands out the given course ids in order
+     */
+    static CourseSequence fixed(int[] order) {
+        return new CourseSequence() {
+            private int position;
+
+            @Override
+            public int next() {
+                return position < order.length ? order[position++] : -1;
+            }
+        };
+    }
+
+}
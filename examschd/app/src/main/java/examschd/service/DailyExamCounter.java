@@ -0,0 +1,54 @@
+package examschd.service;
+
+/**
+ * Counts how many exams each student already has on each exam day.
+ * Backed by one dense int array (student-major), updated incrementally as
+ * Phase 1 places exams, so the max-exams-per-day check costs O(course size).
+ *
+ * Student indexes are the dense student ids of the {@link SchedulingProblem};
+ * day indexes are {@link TimeHorizon} days.
+ */
+final class DailyExamCounter {
+
+    private final int dayCount;
+    private final int[] examCounts;
+
+    DailyExamCounter(int studentCount, int dayCount) {
+        this.dayCount = dayCount;
+        this.examCounts = new int[studentCount * dayCount];
+    }
+
+    int count(int student, int day) {
+        return examCounts[student * dayCount + day];
+    }
+
+    /**
+     * @return true if any of students[from, to) already has maxExamsPerDay exams on this day
+     */
+    boolean anyAtLimit(int[] students, int from, int to, int day, int maxExamsPerDay) {
+        for (int k = from; k < to; k++) {
+            if (examCounts[students[k] * dayCount + day] >= maxExamsPerDay) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records one more exam on this day for each of students[from, to).
+     */
+    void record(int[] students, int from, int to, int day) {
+        for (int k = from; k < to; k++) {
+            examCounts[students[k] * dayCount + day]++;
+        }
+    }
+
+    /**
+     * Takes back one exam on this day for each of students[from, to). Used when an exam is moved.
+     */
+    void remove(int[] students, int from, int to, int day) {
+        for (int k = from; k < to; k++) {
+            examCounts[students[k] * dayCount + day]--;
+        }
+    }
+}
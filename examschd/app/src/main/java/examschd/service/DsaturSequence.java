@@ -0,0 +1,68 @@
+package examschd.service;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DSATUR-style dynamic course ordering.
+ * The next course is the one with the highest saturation: the number of
+ * distinct start times already taken by its placed neighbours in the conflict
+ * graph. Ties go to the higher degree, then to the lower course id, so the
+ * sequence is deterministic. Saturation only grows, and it is updated for the
+ * neighbours of each placed course through an {@link IndexedHeap}.
+ */
+final class DsaturSequence implements CourseSequence {
+
+    private final ConflictGraph conflictGraph;
+    private final int[] saturation;
+    private final BitSet[] blockedSlots;
+    private final Map<Integer, Integer> slotIds = new HashMap<>();
+    private final IndexedHeap queue;
+
+    DsaturSequence(ConflictGraph conflictGraph) {
+        int courseCount = conflictGraph.courseCount();
+        this.conflictGraph = conflictGraph;
+        this.saturation = new int[courseCount];
+        this.blockedSlots = new BitSet[courseCount];
+        this.queue = new IndexedHeap(courseCount, (a, b) -> {
+            if (saturation[a] != saturation[b]) {
+                return Integer.compare(saturation[b], saturation[a]);
+            }
+            int degreeA = conflictGraph.degree(a);
+            int degreeB = conflictGraph.degree(b);
+            if (degreeA != degreeB) {
+                return Integer.compare(degreeB, degreeA);
+            }
+            return Integer.compare(a, b);
+        });
+
+        for (int course = 0; course < courseCount; course++) {
+            queue.add(course);
+        }
+    }
+
+    @Override
+    public int next() {
+        return queue.isEmpty() ? -1 : queue.poll();
+    }
+
+    @Override
+    public void placed(int course, int startMinute) {
+        int slot = slotIds.computeIfAbsent(startMinute, k -> slotIds.size());
+
+        for (int neighbour : conflictGraph.neighbours(course)) {
+            if (!queue.contains(neighbour)) {
+                continue;
+            }
+            if (blockedSlots[neighbour] == null) {
+                blockedSlots[neighbour] = new BitSet();
+            }
+            if (!blockedSlots[neighbour].get(slot)) {
+                blockedSlots[neighbour].set(slot);
+                saturation[neighbour]++;
+                queue.moveUp(neighbour);
+            }
+        }
+    }
+}
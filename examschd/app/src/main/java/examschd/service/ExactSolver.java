@@ -0,0 +1,326 @@
+package examschd.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import examschd.model.SchedulingFailureReason;
+
+/**
+ * Exact branch-and-bound search for the largest Phase 1 schedule of a small instance.
+ *
+ * Every course keeps a domain: a bitset over the start-time grid of the
+ * starts still open to it. Placing an exam propagates to the undecided courses:
+ * - conflicting courses lose the same start and every start within the student gap;
+ * - all courses lose the other starts their exam would overlap (turnover included),
+ *   since Phase 1 only lets exams share rooms when they start together.
+ * The daily limit and the pooled room capacity are checked when an exam is placed.
+ *
+ * The search branches on the undecided course with the fewest open starts,
+ * trying used start times first and leaving the course unscheduled last. A node
+ * is pruned when its placed courses plus the undecided courses with an open
+ * start cannot beat the incumbent, which starts as the greedy result. The search
+ * stops when it is exhausted, when the incumbent reaches the pre-analysis upper
+ * bound (both prove it optimal), at the deadline or on cancellation.
+ * Pinned exams are placed and propagated before the search and never branched on.
+ *
+ * The model is Phase 1 under the Strategy 2 rules on the start-time grid: the
+ * student gap is kept to every exam. Greedy Strategy 1 only checks the gap
+ * among exams at the same start, and seeded starts may lie off the grid, so a
+ * greedy incumbent can be a schedule the model cannot represent. An exhausted
+ * search then proves nothing about it, and the result is optimal only when it
+ * reaches the upper bound.
+ */
+final class ExactSolver {
+
+    private final SchedulingProblem problem;
+    private final ConflictGraph conflictGraph;
+    private final Timetable timetable;
+    private final int[] candidateStarts;
+    private final int[] startOf;
+    private final int courseCount;
+
+    // Open starts (start-time grid slots, the indexes into candidateStarts) of every course
+    private final BitSet[] domains;
+    private final boolean[] decided;
+    private int placedCount;
+
+    // Cleared domain bits, encoded course * candidateStarts.length + start index, for undo
+    private int[] trail = new int[256];
+    private int trailSize;
+
+    private int[] bestStarts;
+    private int bestCount;
+    private int targetCount;
+    private boolean stopped;
+    private boolean incumbentRepresentable;
+    private long deadlineNanos;
+    private CancellationToken cancellation;
+
+    ExactSolver(SchedulingProblem problem, ConflictGraph conflictGraph) {
+        this.problem = problem;
+        this.conflictGraph = conflictGraph;
+        this.timetable = new Timetable(problem);
+        this.candidateStarts = timetable.candidateStarts();
+        this.startOf = timetable.startOf();
+        this.courseCount = problem.courseCount();
+
+        StartTimeGrid grid = problem.startTimeGrid();
+        this.domains = new BitSet[courseCount];
+        for (int course = 0; course < courseCount; course++) {
+            domains[course] = new BitSet(candidateStarts.length);
+            if (problem.courseSize(course) > problem.totalRoomCapacity()) {
+                continue;
+            }
+            for (int day = 0; day < grid.dayCount(); day++) {
+                domains[course].set(grid.firstSlot(day), grid.firstSlot(day) + grid.fittingSlotsPerDay(course));
+            }
+        }
+        this.decided = new boolean[courseCount];
+
+        // Pinned exams are fixed before the search starts
+        for (int course : problem.pinnedCourses()) {
+            decided[course] = true;
+            timetable.place(course, problem.pinnedStart(course));
+            placedCount++;
+            propagate(course, problem.pinnedStart(course));
+        }
+    }
+
+    /**
+     * Searches for a schedule with more courses than the greedy one. A solver is used for one search only.
+     *
+     * @param greedy the greedy Phase 1 result, the first incumbent
+     * @param upperBound no schedule has more courses (the search stops on reaching it)
+     * @param timeLimitMillis wall-clock budget
+     * @param cancellation stops the search early, like the deadline
+     * @return the best result found (the greedy result itself if the search did not beat it)
+     */
+    PhaseOneResult solve(PhaseOneResult greedy, int upperBound, long timeLimitMillis,
+                         CancellationToken cancellation) {
+        deadlineNanos = System.nanoTime() + timeLimitMillis * 1_000_000L;
+        this.cancellation = cancellation;
+        this.targetCount = upperBound;
+
+        bestStarts = new int[courseCount];
+        Arrays.fill(bestStarts, -1);
+        SlotPlacements greedyPlacements = greedy.placements();
+        for (int i = 0; i < greedyPlacements.size(); i++) {
+            bestStarts[greedyPlacements.course(i)] = greedyPlacements.startMinute(i);
+        }
+        bestCount = greedyPlacements.size();
+        incumbentRepresentable = representable(greedyPlacements);
+
+        int greedyCount = bestCount;
+        if (bestCount < targetCount) {
+            search();
+        }
+        if (bestCount == greedyCount) {
+            return greedy;
+        }
+        return buildResult(greedy);
+    }
+
+    /**
+     * @return true if the last search proved its result optimal: it reached the bound,
+     *         or it exhausted the tree starting from an incumbent the model represents
+     */
+    boolean isOptimal() {
+        return bestCount >= targetCount || (!stopped && incumbentRepresentable);
+    }
+
+    /**
+     * Replays the greedy placements under the model's rules: on the grid and
+     * accepted by {@link Timetable#check}. The rules are symmetric between two
+     * exams, so the replay order does not matter.
+     */
+    private boolean representable(SlotPlacements placements) {
+        Timetable replay = new Timetable(problem);
+        for (int course : problem.pinnedCourses()) {
+            replay.place(course, problem.pinnedStart(course));
+        }
+        StartTimeGrid grid = problem.startTimeGrid();
+        for (int i = 0; i < placements.size(); i++) {
+            int course = placements.course(i);
+            int start = placements.startMinute(i);
+            if (problem.isPinned(course)) {
+                continue;
+            }
+            if (grid.slotAt(start) < 0 || replay.check(course, start) != null) {
+                return false;
+            }
+            replay.place(course, start);
+        }
+        return true;
+    }
+
+    /* ===================== SEARCH ===================== */
+
+    private void search() {
+        if (stopped || timeUp()) {
+            stopped = true;
+            return;
+        }
+
+        if (placedCount > bestCount) {
+            bestCount = placedCount;
+            System.arraycopy(startOf, 0, bestStarts, 0, courseCount);
+        }
+
+        // Undecided courses with an open start, and the most constrained of them
+        int open = 0;
+        int course = -1;
+        int courseOptions = Integer.MAX_VALUE;
+        for (int c = 0; c < courseCount; c++) {
+            if (decided[c]) {
+                continue;
+            }
+            int options = domains[c].cardinality();
+            if (options == 0) {
+                continue;
+            }
+            open++;
+            if (options < courseOptions
+                    || (options == courseOptions && conflictGraph.degree(c) > conflictGraph.degree(course))) {
+                course = c;
+                courseOptions = options;
+            }
+        }
+        if (course < 0 || placedCount + open <= bestCount || bestCount >= targetCount) {
+            return;
+        }
+
+        decided[course] = true;
+
+        // Used start times first: they keep rooms shared and leave the grid open
+        BitSet domain = (BitSet) domains[course].clone();
+        for (int pass = 0; pass < 2 && !stopped && bestCount < targetCount; pass++) {
+            for (int i = domain.nextSetBit(0); i >= 0 && !stopped && bestCount < targetCount; i = domain.nextSetBit(i + 1)) {
+                int start = candidateStarts[i];
+                if (timetable.usedStarts().contains(start) != (pass == 0) || timetable.check(course, start) != null) {
+                    continue;
+                }
+                int mark = trailSize;
+                timetable.place(course, start);
+                placedCount++;
+                propagate(course, start);
+
+                search();
+
+                undo(mark);
+                placedCount--;
+                timetable.remove(course);
+            }
+        }
+
+        // Leave the course unscheduled, if the others can still beat the incumbent
+        if (!stopped && placedCount + open - 1 > bestCount && bestCount < targetCount) {
+            search();
+        }
+
+        decided[course] = false;
+    }
+
+    /**
+     * Clears the starts the new exam rules out for the undecided courses.
+     */
+    private void propagate(int course, int startMinute) {
+        int endMinute = startMinute + problem.courseDuration(course);
+        int gap = problem.studentGapMinutes();
+        int turnover = problem.roomTurnoverMinutes();
+
+        // Conflicting courses: no exam at the same start or within the student gap
+        for (int neighbour : conflictGraph.neighbours(course)) {
+            if (decided[neighbour]) {
+                continue;
+            }
+            int duration = problem.courseDuration(neighbour);
+            clearRange(neighbour, startMinute - gap - duration, endMinute + gap, -1, true);
+        }
+
+        // Every course: no overlap (turnover included) with an exam at another start
+        for (int other = 0; other < courseCount; other++) {
+            if (decided[other]) {
+                continue;
+            }
+            int duration = problem.courseDuration(other);
+            clearRange(other, startMinute - duration - turnover, endMinute + turnover, startMinute, false);
+        }
+    }
+
+    /**
+     * Clears the open starts of a course between from and to.
+     *
+     * @param exclusive true to keep both ends open, false to clear them too
+     * @param keep a start that stays open, or -1
+     */
+    private void clearRange(int course, int from, int to, int keep, boolean exclusive) {
+        BitSet domain = domains[course];
+        int first = Arrays.binarySearch(candidateStarts, from);
+        first = first < 0 ? -first - 1 : first;
+        for (int i = domain.nextSetBit(first); i >= 0; i = domain.nextSetBit(i + 1)) {
+            int start = candidateStarts[i];
+            if (start > to || (exclusive && start == to)) {
+                break;
+            }
+            if (start == keep || (exclusive && start == from)) {
+                continue;
+            }
+            domain.clear(i);
+            if (trailSize == trail.length) {
+                trail = Arrays.copyOf(trail, trailSize * 2);
+            }
+            trail[trailSize++] = course * candidateStarts.length + i;
+        }
+    }
+
+    private void undo(int mark) {
+        while (trailSize > mark) {
+            int entry = trail[--trailSize];
+            domains[entry / candidateStarts.length].set(entry % candidateStarts.length);
+        }
+    }
+
+    private boolean timeUp() {
+        return System.nanoTime() - deadlineNanos >= 0 || cancellation.isCancelled();
+    }
+
+    /* ===================== RESULT ===================== */
+
+    /**
+     * Lists the best placements grouped by start time, earliest first. Courses the
+     * greedy run placed but the best schedule leaves out get the reason of their
+     * first start within the day.
+     */
+    private PhaseOneResult buildResult(PhaseOneResult greedy) {
+        List<Integer> courseOrder = new ArrayList<>();
+        for (int course = 0; course < courseCount; course++) {
+            if (bestStarts[course] >= 0) {
+                if (!problem.isPinned(course)) {
+                    timetable.place(course, bestStarts[course]);   // pinned exams are still placed
+                }
+                courseOrder.add(course);
+            }
+        }
+        courseOrder.sort((a, b) -> Integer.compare(bestStarts[a], bestStarts[b]));
+        SlotPlacements placements = timetable.toPlacements(courseOrder);
+
+        SchedulingFailureReason[] failureReasons = greedy.failureReasons().clone();
+        for (int course = 0; course < courseCount; course++) {
+            if (bestStarts[course] >= 0) {
+                failureReasons[course] = null;
+            } else if (failureReasons[course] == null) {
+                failureReasons[course] = SchedulingFailureReason.NO_AVAILABLE_SLOTS;
+                for (int start : candidateStarts) {
+                    SchedulingFailureReason reason = timetable.check(course, start);
+                    if (reason != SchedulingFailureReason.NO_AVAILABLE_SLOTS) {
+                        failureReasons[course] = reason;
+                        break;
+                    }
+                }
+            }
+        }
+        return new PhaseOneResult(greedy.order(), placements, failureReasons);
+    }
+}
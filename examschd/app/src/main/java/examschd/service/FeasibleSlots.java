@@ -0,0 +1,155 @@
+package examschd.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Per-course bitmask over the {@link StartTimeGrid} of the slots that may still
+ * open a new exam for the course in Phase 1 Strategy 2.
+ *
+ * A course starts with every slot that ends within its day. Placing an exam
+ * only clears slots that can never pass the Strategy 2 checks again, since
+ * Phase 1 never takes an exam back:
+ * - the courses sharing students with it lose the slots within the student gap;
+ * - the courses of a student who reaches maxExamsPerDay lose that day;
+ * - every course loses the other start times its exam would overlap
+ *   (turnover included), which the room rule rejects. Those slots only depend
+ *   on the exam duration, so they are kept once per distinct duration.
+ * The remaining capacity of a start time can grow tighter without becoming
+ * hopeless in the same simple way, so it is still checked for every candidate.
+ *
+ * Courses leave the mask once they have been processed. One instance per attempt.
+ */
+final class FeasibleSlots {
+
+    private final SchedulingProblem problem;
+    private final StartTimeGrid grid;
+    private final BitSet[] slots;
+    private final boolean[] settled;
+
+    // Slots the room rule blocks, per distinct exam duration
+    private final int[] durations;
+    private final int[] durationClass;
+    private final BitSet[] roomBlocked;
+
+    // Marks the courses already visited while clearing neighbours of the current placement
+    private final int[] visitedStamp;
+    private int stamp;
+
+    FeasibleSlots(SchedulingProblem problem) {
+        this.problem = problem;
+        this.grid = problem.startTimeGrid();
+        int courseCount = problem.courseCount();
+        this.slots = new BitSet[courseCount];
+        for (int course = 0; course < courseCount; course++) {
+            slots[course] = new BitSet(grid.slotCount());
+            for (int day = 0; day < grid.dayCount(); day++) {
+                slots[course].set(grid.firstSlot(day), grid.firstSlot(day) + grid.fittingSlotsPerDay(course));
+            }
+        }
+        this.settled = new boolean[courseCount];
+
+        this.durationClass = new int[courseCount];
+        int[] distinct = new int[courseCount];
+        int distinctCount = 0;
+        for (int course = 0; course < courseCount; course++) {
+            int duration = problem.courseDuration(course);
+            int cls = 0;
+            while (cls < distinctCount && distinct[cls] != duration) {
+                cls++;
+            }
+            if (cls == distinctCount) {
+                distinct[distinctCount++] = duration;
+            }
+            durationClass[course] = cls;
+        }
+        this.durations = Arrays.copyOf(distinct, distinctCount);
+        this.roomBlocked = new BitSet[distinctCount];
+        for (int cls = 0; cls < distinctCount; cls++) {
+            roomBlocked[cls] = new BitSet(grid.slotCount());
+        }
+
+        this.visitedStamp = new int[courseCount];
+        Arrays.fill(visitedStamp, -1);
+    }
+
+    /**
+     * @return the first feasible slot of the course at or after fromSlot, or -1
+     */
+    int nextSlot(int course, int fromSlot) {
+        BitSet blocked = roomBlocked[durationClass[course]];
+        int slot = slots[course].nextSetBit(fromSlot);
+        while (slot >= 0 && blocked.get(slot)) {
+            slot = slots[course].nextSetBit(slot + 1);
+        }
+        return slot;
+    }
+
+    /**
+     * Stops tracking a processed course.
+     */
+    void settle(int course) {
+        settled[course] = true;
+        slots[course] = null;
+    }
+
+    /**
+     * Clears the slots the new exam rules out. Call after the exam has been
+     * recorded in the daily counter.
+     */
+    void placed(int course, int startMinute, DailyExamCounter dailyExams) {
+        int endMinute = startMinute + problem.courseDuration(course);
+        int day = problem.horizon().dayOf(startMinute);
+        int gap = problem.studentGapMinutes();
+        int turnover = problem.roomTurnoverMinutes();
+        int[] students = problem.courseStudents();
+        int[] studentCourses = problem.studentCourses();
+        stamp++;
+
+        for (int k = problem.courseStudentStart(course); k < problem.courseStudentEnd(course); k++) {
+            int student = students[k];
+            boolean atLimit = dailyExams.count(student, day) == problem.maxExamsPerDay();
+
+            for (int j = problem.studentCourseStart(student); j < problem.studentCourseEnd(student); j++) {
+                int other = studentCourses[j];
+                if (settled[other]) {
+                    continue;
+                }
+                if (atLimit) {
+                    // The student's other courses cannot open a start on this day any more
+                    slots[other].clear(grid.firstSlot(day), grid.firstSlot(day) + grid.slotsPerDay());
+                }
+                if (visitedStamp[other] != stamp) {
+                    visitedStamp[other] = stamp;
+                    // Student gap: starts in (start - gap - duration, end + gap) conflict
+                    int duration = problem.courseDuration(other);
+                    clear(other, startMinute - gap - duration + 1, endMinute + gap - 1);
+                }
+            }
+        }
+
+        // Room rule: no overlap, turnover included, with an exam at another start
+        int sameStartSlot = grid.slotAt(startMinute);
+        for (int cls = 0; cls < durations.length; cls++) {
+            int from = grid.firstSlotAtOrAfter(startMinute - durations[cls] - turnover);
+            int to = grid.firstSlotAtOrAfter(endMinute + turnover + 1);
+            if (sameStartSlot >= from && sameStartSlot < to) {
+                roomBlocked[cls].set(from, sameStartSlot);
+                roomBlocked[cls].set(sameStartSlot + 1, to);
+            } else {
+                roomBlocked[cls].set(from, to);
+            }
+        }
+    }
+
+    /**
+     * Clears the slots of the course starting within [fromMinute, toMinute].
+     */
+    private void clear(int course, int fromMinute, int toMinute) {
+        int from = grid.firstSlotAtOrAfter(fromMinute);
+        int to = grid.firstSlotAtOrAfter(toMinute + 1);
+        if (from < to) {
+            slots[course].clear(from, to);
+        }
+    }
+}
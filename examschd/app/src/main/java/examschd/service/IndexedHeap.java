@@ -0,0 +1,97 @@
+package examschd.service;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Binary heap of int items 0..capacity-1 that knows the position of every item,
+ * so an item whose priority improved can be moved up in O(log n) without a search.
+ * The comparator returns a negative value when the first item should come out first.
+ */
+final class IndexedHeap {
+
+    private final int[] heap;
+    private final int[] positions;
+    private final IntBinaryOperator comparator;
+    private int size;
+
+    IndexedHeap(int capacity, IntBinaryOperator comparator) {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.comparator = comparator;
+        Arrays.fill(positions, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int item) {
+        return positions[item] >= 0;
+    }
+
+    void add(int item) {
+        heap[size] = item;
+        positions[item] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Removes and returns the item that comes first.
+     */
+    int poll() {
+        int first = heap[0];
+        positions[first] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return first;
+    }
+
+    /**
+     * Restores the heap after the item's priority improved.
+     */
+    void moveUp(int item) {
+        siftUp(positions[item]);
+    }
+
+    private void siftUp(int index) {
+        int item = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (comparator.applyAsInt(item, heap[parent]) >= 0) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(item, index);
+    }
+
+    private void siftDown(int index) {
+        int item = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && comparator.applyAsInt(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            if (comparator.applyAsInt(heap[child], item) >= 0) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(item, index);
+    }
+
+    private void place(int item, int index) {
+        heap[index] = item;
+        positions[item] = index;
+    }
+}
@@ -0,0 +1,354 @@
+package examschd.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+
+import examschd.model.SchedulingFailureReason;
+
+/**
+ * Time-boxed local search that tries to fit the courses a greedy Phase 1 run left unscheduled.
+ *
+ * Starting from the greedy placements, every unscheduled course is tried with these moves:
+ * - insert: place it directly at a free start time
+ * - relocate: move the single exam blocking it to another start time, then place it
+ * - swap: exchange the start times of the blocking exam and another placed exam
+ * - Kempe chain: swap the start times of a connected group of conflicting exams
+ *   between two start times, so the blocking exams leave the wanted start time
+ *
+ * The objective is the number of placed courses, so a move is kept only if the
+ * course fits afterwards. Moves are evaluated incrementally: only the exams a move
+ * touches are taken out and re-checked against the same occupancy indexes Phase 1
+ * uses, and a failed move is rolled back. The search is deterministic for a given
+ * input and stops when a full pass fits nothing or the deadline passes.
+ *
+ * Placements made here satisfy the Strategy 2 rules (gap, daily limit and the
+ * pooled room capacity), so Phase 2 can assign rooms to the result as usual.
+ * Pinned exams are never moved.
+ */
+final class LocalSearchImprover {
+
+    private final SchedulingProblem problem;
+    private final ConflictGraph conflictGraph;
+    private final TimeHorizon horizon;
+    private final int[] candidateStarts;
+
+    // Current solution and its incremental indexes
+    private final Timetable timetable;
+    private final int[] startOf;
+
+    private long deadlineNanos;
+    private CancellationToken cancellation;
+
+    LocalSearchImprover(SchedulingProblem problem, ConflictGraph conflictGraph) {
+        this.problem = problem;
+        this.conflictGraph = conflictGraph;
+        this.horizon = problem.horizon();
+        this.timetable = new Timetable(problem);
+        this.candidateStarts = timetable.candidateStarts();
+        this.startOf = timetable.startOf();
+    }
+
+    /**
+     * Runs the improvement pass on a greedy Phase 1 result. An improver is used for one pass only.
+     *
+     * @param greedy the greedy Phase 1 result
+     * @param timeLimitMillis wall-clock budget
+     * @param cancellation stops the search early, like the deadline
+     * @return the improved result (the greedy result itself if nothing could be fitted)
+     */
+    PhaseOneResult improve(PhaseOneResult greedy, long timeLimitMillis, CancellationToken cancellation) {
+        deadlineNanos = System.nanoTime() + timeLimitMillis * 1_000_000L;
+        this.cancellation = cancellation;
+
+        SlotPlacements greedyPlacements = greedy.placements();
+        for (int i = 0; i < greedyPlacements.size(); i++) {
+            timetable.place(greedyPlacements.course(i), greedyPlacements.startMinute(i));
+        }
+
+        List<Integer> pending = new ArrayList<>();
+        for (int course : greedy.order()) {
+            if (startOf[course] < 0) {
+                pending.add(course);
+            }
+        }
+
+        List<Integer> fitted = new ArrayList<>();
+        boolean progress = true;
+        while (progress && !pending.isEmpty() && !timeUp()) {
+            progress = false;
+            for (Iterator<Integer> it = pending.iterator(); it.hasNext() && !timeUp(); ) {
+                int course = it.next();
+                if (tryInsert(course) || tryRelocate(course) || trySwap(course) || tryKempeChain(course)) {
+                    it.remove();
+                    fitted.add(course);
+                    progress = true;
+                }
+            }
+        }
+
+        if (fitted.isEmpty()) {
+            return greedy;
+        }
+        return buildResult(greedy, fitted);
+    }
+
+    /* ===================== MOVES ===================== */
+
+    private boolean tryInsert(int course) {
+        for (int start : candidateStarts) {
+            if (timetable.check(course, start) == null) {
+                timetable.place(course, start);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the one exam that blocks the course at some start time elsewhere.
+     */
+    private boolean tryRelocate(int course) {
+        for (int start : candidateStarts) {
+            if (timeUp()) {
+                return false;
+            }
+            int[] blockers = blockers(course, start);
+            if (blockers == null || blockers.length != 1) {
+                continue;
+            }
+            int blocker = blockers[0];
+            int blockerStart = startOf[blocker];
+
+            timetable.remove(blocker);
+            if (timetable.check(course, start) == null) {
+                timetable.place(course, start);
+                for (int newStart : candidateStarts) {
+                    if (newStart != blockerStart && timetable.check(blocker, newStart) == null) {
+                        timetable.place(blocker, newStart);
+                        return true;
+                    }
+                }
+                timetable.remove(course);
+            }
+            timetable.place(blocker, blockerStart);
+        }
+        return false;
+    }
+
+    /**
+     * Exchanges the start time of the one blocking exam with that of another placed exam.
+     */
+    private boolean trySwap(int course) {
+        for (int start : candidateStarts) {
+            if (timeUp()) {
+                return false;
+            }
+            int[] blockers = blockers(course, start);
+            if (blockers == null || blockers.length != 1) {
+                continue;
+            }
+            int blocker = blockers[0];
+            int blockerStart = startOf[blocker];
+
+            for (int other = 0; other < startOf.length; other++) {
+                int otherStart = startOf[other];
+                if (other == blocker || otherStart < 0 || otherStart == blockerStart || problem.isPinned(other)) {
+                    continue;
+                }
+                if (timeUp()) {
+                    return false;
+                }
+                timetable.remove(blocker);
+                timetable.remove(other);
+                if (timetable.check(blocker, otherStart) == null) {
+                    timetable.place(blocker, otherStart);
+                    if (timetable.check(other, blockerStart) == null) {
+                        timetable.place(other, blockerStart);
+                        if (timetable.check(course, start) == null) {
+                            timetable.place(course, start);
+                            return true;
+                        }
+                        timetable.remove(other);
+                    }
+                    timetable.remove(blocker);
+                }
+                timetable.place(blocker, blockerStart);
+                timetable.place(other, otherStart);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * When every blocking exam sits at one start time b, swaps the Kempe chain of the
+     * blockers between b and another used start time t: all exams at b or t connected
+     * to the blockers through shared students change sides.
+     */
+    private boolean tryKempeChain(int course) {
+        for (int start : candidateStarts) {
+            if (timeUp()) {
+                return false;
+            }
+            int[] blockers = blockers(course, start);
+            if (blockers == null || blockers.length == 0) {
+                continue;
+            }
+            int blockedAt = startOf[blockers[0]];
+            boolean sameStart = true;
+            for (int blocker : blockers) {
+                sameStart &= startOf[blocker] == blockedAt;
+            }
+            if (!sameStart) {
+                continue;
+            }
+
+            for (int other : new ArrayList<>(timetable.usedStarts())) {
+                if (other == blockedAt) {
+                    continue;
+                }
+                int[] chain = kempeChain(blockers, blockedAt, other);
+                if (containsPinned(chain)) {
+                    continue;
+                }
+                int[] oldStarts = applyChainSwap(chain, blockedAt, other);
+                if (oldStarts != null) {
+                    if (timetable.check(course, start) == null) {
+                        timetable.place(course, start);
+                        return true;
+                    }
+                    restore(chain, chain.length, oldStarts);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the exams at startA or startB reachable from the seeds through shared students
+     */
+    private int[] kempeChain(int[] seeds, int startA, int startB) {
+        BitSet inChain = new BitSet();
+        List<Integer> chain = new ArrayList<>();
+        for (int seed : seeds) {
+            inChain.set(seed);
+            chain.add(seed);
+        }
+        for (int i = 0; i < chain.size(); i++) {
+            for (int neighbour : conflictGraph.neighbours(chain.get(i))) {
+                int neighbourStart = startOf[neighbour];
+                if (!inChain.get(neighbour) && (neighbourStart == startA || neighbourStart == startB)) {
+                    inChain.set(neighbour);
+                    chain.add(neighbour);
+                }
+            }
+        }
+        return chain.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Moves the chain exams at startA to startB and those at startB to startA.
+     * Rolls back if any of them does not fit at its new start.
+     *
+     * @return the previous start of each chain exam, or null if the swap was rolled back
+     */
+    private int[] applyChainSwap(int[] chain, int startA, int startB) {
+        int[] oldStarts = new int[chain.length];
+        for (int i = 0; i < chain.length; i++) {
+            oldStarts[i] = startOf[chain[i]];
+            timetable.remove(chain[i]);
+        }
+
+        int placed = 0;
+        for (; placed < chain.length; placed++) {
+            int newStart = oldStarts[placed] == startA ? startB : startA;
+            if (timetable.check(chain[placed], newStart) != null) {
+                break;
+            }
+            timetable.place(chain[placed], newStart);
+        }
+        if (placed == chain.length) {
+            return oldStarts;
+        }
+        restore(chain, placed, oldStarts);
+        return null;
+    }
+
+    /**
+     * Takes the first placedCount chain exams out again and puts the whole chain back at its old starts.
+     */
+    private void restore(int[] chain, int placedCount, int[] oldStarts) {
+        for (int i = 0; i < placedCount; i++) {
+            timetable.remove(chain[i]);
+        }
+        for (int i = 0; i < chain.length; i++) {
+            timetable.place(chain[i], oldStarts[i]);
+        }
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    /**
+     * @return the placed neighbours whose exams clash with the course at this start
+     *         (same start or within the student gap), or null if the start crosses the day
+     *         boundary or a pinned exam blocks it
+     */
+    private int[] blockers(int course, int startMinute) {
+        int duration = problem.courseDuration(course);
+        if (horizon.exceedsDayBoundary(startMinute, duration)) {
+            return null;
+        }
+        int endMinute = startMinute + duration;
+        int gap = problem.studentGapMinutes();
+
+        List<Integer> blockers = new ArrayList<>();
+        for (int neighbour : conflictGraph.neighbours(course)) {
+            int neighbourStart = startOf[neighbour];
+            if (neighbourStart < 0) {
+                continue;
+            }
+            int neighbourEnd = neighbourStart + problem.courseDuration(neighbour);
+            if (neighbourStart == startMinute || (neighbourStart < endMinute + gap && neighbourEnd > startMinute - gap)) {
+                if (problem.isPinned(neighbour)) {
+                    return null;
+                }
+                blockers.add(neighbour);
+            }
+        }
+        return blockers.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private boolean containsPinned(int[] courses) {
+        for (int course : courses) {
+            if (problem.isPinned(course)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean timeUp() {
+        return System.nanoTime() - deadlineNanos >= 0 || cancellation.isCancelled();
+    }
+
+    /* ===================== RESULT ===================== */
+
+    /**
+     * Lists the final placements grouped by start time, greedy placements first, then fitted courses.
+     */
+    private PhaseOneResult buildResult(PhaseOneResult greedy, List<Integer> fitted) {
+        List<Integer> courseOrder = new ArrayList<>();
+        SlotPlacements greedyPlacements = greedy.placements();
+        for (int i = 0; i < greedyPlacements.size(); i++) {
+            courseOrder.add(greedyPlacements.course(i));
+        }
+        courseOrder.addAll(fitted);
+
+        SchedulingFailureReason[] failureReasons = greedy.failureReasons().clone();
+        for (int course : fitted) {
+            failureReasons[course] = null;
+        }
+        return new PhaseOneResult(greedy.order(), timetable.toPlacements(courseOrder), failureReasons);
+    }
+}
@@ -0,0 +1,38 @@
+package examschd.service;
+
+import examschd.model.SchedulingFailureReason;
+
+/**
+ * Full Phase 1 output of one ordering attempt: the placements in placement
+ * order plus the failure reason of every course that could not be placed
+ * (indexed by {@link SchedulingProblem} course id, null for placed courses).
+ * Kept so the winning attempt can go straight to Phase 2.
+ */
+final class PhaseOneResult {
+
+    private final int[] order;
+    private final SlotPlacements placements;
+    private final SchedulingFailureReason[] failureReasons;
+
+    PhaseOneResult(int[] order, SlotPlacements placements, SchedulingFailureReason[] failureReasons) {
+        this.order = order;
+        this.placements = placements;
+        this.failureReasons = failureReasons;
+    }
+
+    int[] order() {
+        return order;
+    }
+
+    SlotPlacements placements() {
+        return placements;
+    }
+
+    SchedulingFailureReason[] failureReasons() {
+        return failureReasons;
+    }
+
+    int scheduledCount() {
+        return placements.size();
+    }
+}
@@ -0,0 +1,53 @@
+package examschd.service;
+
+import java.util.Arrays;
+
+/**
+ * The output of Phase 2: one entry per created exam session, in creation order.
+ * Each session refers to a Phase 1 placement and lists its rooms (room ids of the
+ * {@link SchedulingProblem}) in allocation order; the rooms are stored in CSR form.
+ */
+final class RoomAssignments {
+
+    private final int[] placements;
+    private final int[] roomOffsets;
+    private int[] rooms;
+    private int size;
+    private int roomTotal;
+
+    RoomAssignments(int capacity) {
+        this.placements = new int[capacity];
+        this.roomOffsets = new int[capacity + 1];
+        this.rooms = new int[Math.max(capacity, 4)];
+    }
+
+    /**
+     * Adds a session for the given placement, using rooms[from, to).
+     */
+    void add(int placement, int[] sessionRooms, int from, int to) {
+        int count = to - from;
+        if (roomTotal + count > rooms.length) {
+            rooms = Arrays.copyOf(rooms, Math.max(rooms.length * 2, roomTotal + count));
+        }
+        System.arraycopy(sessionRooms, from, rooms, roomTotal, count);
+        roomTotal += count;
+        placements[size] = placement;
+        roomOffsets[++size] = roomTotal;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int placement(int session) {
+        return placements[session];
+    }
+
+    int roomCount(int session) {
+        return roomOffsets[session + 1] - roomOffsets[session];
+    }
+
+    int room(int session, int index) {
+        return rooms[roomOffsets[session] + index];
+    }
+}
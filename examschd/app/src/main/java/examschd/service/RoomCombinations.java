@@ -0,0 +1,199 @@
+package examschd.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Optimal room combinations for the optimal room selection mode: the rooms for
+ * an exam are the free rooms with the fewest wasted seats, then the fewest rooms.
+ *
+ * Rooms of equal capacity are interchangeable, so the free rooms are described
+ * by a capacity multiset: the number of free rooms of each distinct capacity
+ * (capacities in descending order). A selection is a bounded subset-sum DP over
+ * that multiset, memoized by (multiset, student count), so the repeated checks
+ * of Phase 1 and the allocations of Phase 2 cost a hash lookup after the first time.
+ *
+ * Not thread-safe: every scheduling attempt uses its own instance.
+ */
+final class RoomCombinations {
+
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final SchedulingProblem problem;
+    private final int[] capacities;
+    private final int[] roomCounts;
+    private final Map<Key, int[]> memo = new HashMap<>();
+
+    RoomCombinations(SchedulingProblem problem) {
+        this.problem = problem;
+        int[] roomsByCapacity = problem.roomsByCapacity();
+        int[] capacities = new int[roomsByCapacity.length];
+        int[] roomCounts = new int[roomsByCapacity.length];
+        int distinct = 0;
+        for (int room : roomsByCapacity) {
+            int capacity = problem.roomCapacity(room);
+            if (distinct == 0 || capacities[distinct - 1] != capacity) {
+                capacities[distinct++] = capacity;
+            }
+            roomCounts[distinct - 1]++;
+        }
+        this.capacities = Arrays.copyOf(capacities, distinct);
+        this.roomCounts = Arrays.copyOf(roomCounts, distinct);
+    }
+
+    /**
+     * @return a fresh multiset with every room free
+     */
+    int[] allRooms() {
+        return roomCounts.clone();
+    }
+
+    /**
+     * @return the multiset of the rooms in rooms[from, to)
+     */
+    int[] multisetOf(int[] rooms, int from, int to) {
+        int[] free = new int[capacities.length];
+        for (int r = from; r < to; r++) {
+            free[capacityIndex(problem.roomCapacity(rooms[r]))]++;
+        }
+        return free;
+    }
+
+    /**
+     * Moves the rooms of a selection to the front of rooms[from, to), both parts
+     * keeping their order.
+     */
+    void moveToFront(int[] taken, int[] rooms, int from, int to) {
+        int[] remaining = taken.clone();
+        int[] rest = new int[to - from];
+        int restCount = 0;
+        int end = from;
+        for (int r = from; r < to; r++) {
+            int k = capacityIndex(problem.roomCapacity(rooms[r]));
+            if (remaining[k] > 0) {
+                remaining[k]--;
+                rooms[end++] = rooms[r];
+            } else {
+                rest[restCount++] = rooms[r];
+            }
+        }
+        System.arraycopy(rest, 0, rooms, end, restCount);
+    }
+
+    /**
+     * Chooses the rooms for an exam among the free ones.
+     *
+     * @param free free rooms per distinct capacity
+     * @param studentCount seats needed
+     * @return rooms taken per distinct capacity (shared, do not modify), or null if the free rooms cannot seat the exam
+     */
+    int[] select(int[] free, int studentCount) {
+        Key key = new Key(free, studentCount);
+        int[] taken = memo.get(key);
+        if (taken == null && !memo.containsKey(key)) {
+            taken = solve(free, studentCount);
+            memo.put(new Key(free.clone(), studentCount), taken);
+        }
+        return taken;
+    }
+
+    /**
+     * Bounded subset-sum over seat totals. A combination with the least waste
+     * never exceeds studentCount + largest free capacity - 1 seats (dropping its
+     * smallest room would otherwise still seat the exam), which bounds the table.
+     */
+    private int[] solve(int[] free, int studentCount) {
+        int total = 0;
+        int largest = 0;
+        for (int k = 0; k < free.length; k++) {
+            total += free[k] * capacities[k];
+            if (free[k] > 0) {
+                largest = Math.max(largest, capacities[k]);
+            }
+        }
+        int[] taken = new int[free.length];
+        if (studentCount <= 0) {
+            return taken;
+        }
+        if (total < studentCount) {
+            return null;
+        }
+
+        int limit = Math.min(total, studentCount + largest - 1);
+
+        // fewest[k][s] = fewest rooms of the first k capacities seating exactly s
+        int[][] fewest = new int[free.length + 1][limit + 1];
+        Arrays.fill(fewest[0], UNREACHABLE);
+        fewest[0][0] = 0;
+        for (int k = 0; k < free.length; k++) {
+            int[] previous = fewest[k];
+            int[] current = fewest[k + 1];
+            Arrays.fill(current, UNREACHABLE);
+            for (int s = 0; s <= limit; s++) {
+                for (int t = 0; t <= free[k] && t * capacities[k] <= s; t++) {
+                    int before = previous[s - t * capacities[k]];
+                    if (before != UNREACHABLE && before + t < current[s]) {
+                        current[s] = before + t;
+                    }
+                }
+            }
+        }
+
+        int seats = studentCount;
+        while (fewest[free.length][seats] == UNREACHABLE) {
+            seats++;
+        }
+
+        // Walk back through the table to recover how many rooms of each capacity were used
+        for (int k = free.length - 1; k >= 0; k--) {
+            int rooms = fewest[k + 1][seats];
+            for (int t = 0; t <= free[k] && t * capacities[k] <= seats; t++) {
+                int before = fewest[k][seats - t * capacities[k]];
+                if (before != UNREACHABLE && before + t == rooms) {
+                    taken[k] = t;
+                    seats -= t * capacities[k];
+                    break;
+                }
+            }
+        }
+        return taken;
+    }
+
+    private int capacityIndex(int capacity) {
+        // capacities are in descending order
+        int low = 0;
+        int high = capacities.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (capacities[mid] > capacity) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class Key {
+        private final int[] free;
+        private final int studentCount;
+        private final int hash;
+
+        Key(int[] free, int studentCount) {
+            this.free = free;
+            this.studentCount = studentCount;
+            this.hash = 31 * Arrays.hashCode(free) + studentCount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && studentCount == other.studentCount && Arrays.equals(free, other.free);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package examschd.service;
+
+import java.util.Arrays;
+
+/**
+ * Per-room occupancy timeline used by Phase 2.
+ * Each room keeps the sessions it hosts as two sorted int arrays (start and
+ * end minutes). Phase 2 never double-books a room, so a room's sessions are
+ * disjoint and both arrays are sorted in the same order; the only session that
+ * can clash with a window is the first one ending at or after the window start,
+ * which one binary search finds.
+ *
+ * Room indexes are the room ids of the {@link SchedulingProblem}.
+ */
+final class RoomTimeline {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final int[][] starts;
+    private final int[][] ends;
+    private final int[] sizes;
+
+    RoomTimeline(int roomCount) {
+        this.starts = new int[roomCount][];
+        this.ends = new int[roomCount][];
+        this.sizes = new int[roomCount];
+    }
+
+    /**
+     * A session [a, b] blocks the window when end + turnover >= a and
+     * b + turnover >= start (the same rule Phase 1 uses for capacity).
+     *
+     * @return true if no session of the room blocks [startMinute, endMinute]
+     */
+    boolean isFree(int room, int startMinute, int endMinute, int turnoverMinutes) {
+        int size = sizes[room];
+        int[] roomEnds = ends[room];
+
+        // First session with b + turnover >= start
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (roomEnds[mid] + turnoverMinutes < startMinute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low == size || starts[room][low] > endMinute + turnoverMinutes;
+    }
+
+    /**
+     * Records that the room hosts a session from startMinute to endMinute.
+     */
+    void add(int room, int startMinute, int endMinute) {
+        int size = sizes[room];
+        if (starts[room] == null) {
+            starts[room] = new int[INITIAL_CAPACITY];
+            ends[room] = new int[INITIAL_CAPACITY];
+        } else if (size == starts[room].length) {
+            starts[room] = Arrays.copyOf(starts[room], size * 2);
+            ends[room] = Arrays.copyOf(ends[room], size * 2);
+        }
+
+        int position = size;
+        while (position > 0 && starts[room][position - 1] > startMinute) {
+            position--;
+        }
+        System.arraycopy(starts[room], position, starts[room], position + 1, size - position);
+        System.arraycopy(ends[room], position, ends[room], position + 1, size - position);
+        starts[room][position] = startMinute;
+        ends[room][position] = endMinute;
+        sizes[room]++;
+    }
+}
@@ -0,0 +1,227 @@
+package examschd.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import examschd.model.SchedulingFailureReason;
+
+/**
+ * Fast pre-analysis of a compiled problem: an upper bound on the number of
+ * courses any schedule can contain, plus the courses that can never be
+ * scheduled at all. It runs before the search, so hopeless courses are
+ * reported at once and the search can stop when the best result reaches the bound.
+ *
+ * The time reasoning ignores the start-time grid and room sharing, so the
+ * bound holds for every strategy (it may be loose, never too tight):
+ * - a course with more students than all rooms together, or longer than the
+ *   daily exam window, can never be placed;
+ * - the courses of one student need non-overlapping exams, at most
+ *   maxExamsPerDay a day;
+ * - courses that pairwise share students (a clique in the conflict graph)
+ *   need non-overlapping exams too, even without one common student.
+ * Two exams that must not overlap are at least min(student gap, room turnover)
+ * minutes apart: Phase 1 enforces the gap for new start times and the room
+ * turnover between any two start times.
+ *
+ * Pinned exams are placed whatever these rules say (outside the daily limit,
+ * or over the room capacity), so they are never unschedulable and are left out
+ * of the excess counts. The other courses still follow the rules among
+ * themselves, so the bound stays valid, only looser.
+ */
+final class ScheduleBounds {
+
+    // Greedy cliques are grown from this many of the highest-degree courses
+    private static final int CLIQUE_SEEDS = 32;
+
+    private final SchedulingFailureReason[] unschedulable;
+    private final int unschedulableCount;
+    private final int upperBound;
+
+    private ScheduleBounds(SchedulingFailureReason[] unschedulable, int unschedulableCount, int upperBound) {
+        this.unschedulable = unschedulable;
+        this.unschedulableCount = unschedulableCount;
+        this.upperBound = upperBound;
+    }
+
+    static ScheduleBounds compute(SchedulingProblem problem, ConflictGraph conflictGraph) {
+        int courseCount = problem.courseCount();
+        TimeHorizon horizon = problem.horizon();
+        int dayCount = horizon.dayCount();
+        int windowMinutes = dayCount == 0 ? 0 : horizon.examWindowEnd(0) - horizon.examWindowStart(0);
+        int separation = Math.max(0, Math.min(problem.studentGapMinutes(), problem.roomTurnoverMinutes()));
+
+        // Courses that can never be placed, whatever else is scheduled
+        SchedulingFailureReason[] unschedulable = new SchedulingFailureReason[courseCount];
+        // Courses that compete under the rules: neither unschedulable nor pinned
+        boolean[] counted = new boolean[courseCount];
+        int unschedulableCount = 0;
+        for (int course = 0; course < courseCount; course++) {
+            if (problem.isPinned(course)) {
+                continue;
+            }
+            if (problem.courseSize(course) > problem.totalRoomCapacity()) {
+                unschedulable[course] = SchedulingFailureReason.CLASSROOM_CAPACITY_INSUFFICIENT;
+            } else if (problem.courseDuration(course) > windowMinutes) {
+                unschedulable[course] = SchedulingFailureReason.NO_AVAILABLE_SLOTS;
+            }
+            if (unschedulable[course] != null) {
+                unschedulableCount++;
+            } else {
+                counted[course] = true;
+            }
+        }
+
+        int studentExcess = studentExcess(problem, counted, dayCount, windowMinutes, separation);
+        int cliqueExcess = cliqueExcess(problem, conflictGraph, counted, dayCount, windowMinutes, separation);
+
+        // The two excess counts may cover the same courses, so only the larger one is certain
+        int upperBound = courseCount - unschedulableCount - Math.max(studentExcess, cliqueExcess);
+        return new ScheduleBounds(unschedulable, unschedulableCount, upperBound);
+    }
+
+    /**
+     * @return the most courses any schedule can contain
+     */
+    int upperBound() {
+        return upperBound;
+    }
+
+    /**
+     * @return why the course can never be scheduled, or null if that is not proven
+     */
+    SchedulingFailureReason unschedulableReason(int course) {
+        return unschedulable[course];
+    }
+
+    int unschedulableCount() {
+        return unschedulableCount;
+    }
+
+    /**
+     * Courses that must stay unscheduled because some student has more exams
+     * than fit in the horizon. Students are charged greedily, largest excess
+     * first, and only when none of their courses was charged already, so the
+     * counted courses are all different.
+     */
+    private static int studentExcess(SchedulingProblem problem, boolean[] counted,
+                                     int dayCount, int windowMinutes, int separation) {
+        int[] studentCourses = problem.studentCourses();
+        List<int[]> overloaded = new ArrayList<>(); // {student, excess}
+
+        for (int student = 0; student < problem.studentCount(); student++) {
+            int[] durations = new int[problem.studentCourseEnd(student) - problem.studentCourseStart(student)];
+            int count = 0;
+            for (int k = problem.studentCourseStart(student); k < problem.studentCourseEnd(student); k++) {
+                if (counted[studentCourses[k]]) {
+                    durations[count++] = problem.courseDuration(studentCourses[k]);
+                }
+            }
+
+            int perDay = fitPerDay(durations, count, windowMinutes, separation, problem.maxExamsPerDay());
+            int excess = count - dayCount * perDay;
+            if (excess > 0) {
+                overloaded.add(new int[]{student, excess});
+            }
+        }
+
+        overloaded.sort((a, b) -> Integer.compare(b[1], a[1]));
+        boolean[] charged = new boolean[problem.courseCount()];
+        int total = 0;
+
+        for (int[] entry : overloaded) {
+            int student = entry[0];
+            boolean disjoint = true;
+            for (int k = problem.studentCourseStart(student); k < problem.studentCourseEnd(student) && disjoint; k++) {
+                disjoint = !charged[studentCourses[k]];
+            }
+            if (disjoint) {
+                for (int k = problem.studentCourseStart(student); k < problem.studentCourseEnd(student); k++) {
+                    charged[studentCourses[k]] = true;
+                }
+                total += entry[1];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Courses that must stay unscheduled because a greedy clique of the conflict
+     * graph has more members than non-overlapping exams fit in the horizon.
+     */
+    private static int cliqueExcess(SchedulingProblem problem, ConflictGraph conflictGraph,
+                                    boolean[] counted,
+                                    int dayCount, int windowMinutes, int separation) {
+        int courseCount = problem.courseCount();
+        Integer[] byDegree = new Integer[courseCount];
+        for (int course = 0; course < courseCount; course++) {
+            byDegree[course] = course;
+        }
+        Arrays.sort(byDegree, (a, b) -> Integer.compare(conflictGraph.degree(b), conflictGraph.degree(a)));
+
+        int best = 0;
+        int seeds = 0;
+        for (int seed : byDegree) {
+            if (seeds == CLIQUE_SEEDS) {
+                break;
+            }
+            if (!counted[seed]) {
+                continue;
+            }
+            seeds++;
+
+            // Grow the clique from the seed's neighbours, highest degree first
+            int[] neighbours = conflictGraph.neighbours(seed);
+            Integer[] candidates = new Integer[neighbours.length];
+            for (int k = 0; k < neighbours.length; k++) {
+                candidates[k] = neighbours[k];
+            }
+            Arrays.sort(candidates, (a, b) -> Integer.compare(conflictGraph.degree(b), conflictGraph.degree(a)));
+
+            int[] clique = new int[neighbours.length + 1];
+            int size = 0;
+            clique[size++] = seed;
+            for (int candidate : candidates) {
+                if (!counted[candidate]) {
+                    continue;
+                }
+                boolean adjacentToAll = true;
+                for (int m = 0; m < size && adjacentToAll; m++) {
+                    adjacentToAll = conflictGraph.areAdjacent(candidate, clique[m]);
+                }
+                if (adjacentToAll) {
+                    clique[size++] = candidate;
+                }
+            }
+
+            int[] durations = new int[size];
+            for (int m = 0; m < size; m++) {
+                durations[m] = problem.courseDuration(clique[m]);
+            }
+            int perDay = fitPerDay(durations, size, windowMinutes, separation, Integer.MAX_VALUE);
+            best = Math.max(best, size - dayCount * perDay);
+        }
+        return best;
+    }
+
+    /**
+     * The most exams, out of the given durations, that fit one after another in
+     * one day's window with the separation between them (shortest first is optimal).
+     */
+    private static int fitPerDay(int[] durations, int count, int windowMinutes, int separation, int dailyLimit) {
+        int[] sorted = Arrays.copyOf(durations, count);
+        Arrays.sort(sorted);
+
+        int fitted = 0;
+        long usedMinutes = 0;
+        for (int duration : sorted) {
+            long needed = usedMinutes + (fitted > 0 ? separation : 0) + duration;
+            if (fitted == dailyLimit || needed > windowMinutes) {
+                break;
+            }
+            usedMinutes = needed;
+            fitted++;
+        }
+        return fitted;
+    }
+}
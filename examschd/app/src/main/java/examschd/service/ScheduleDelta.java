@@ -0,0 +1,69 @@
+package examschd.service;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The edits made to the scheduler input since a schedule was generated, for
+ * {@link Scheduler#repair}. Edits are collected with the chained methods, e.g.
+ * {@code new ScheduleDelta().removeClassroom(id)}.
+ *
+ * Other config changes (daily limit, gaps, exam hours) need no entry: repair
+ * checks every kept exam again against the config it is given.
+ */
+public final class ScheduleDelta {
+
+    private final Set<Integer> removedStudentIds = new HashSet<>();
+    private final Set<Integer> removedClassroomIds = new HashSet<>();
+    private final Map<String, Integer> courseDurations = new LinkedHashMap<>();
+
+    public ScheduleDelta removeStudent(int studentId) {
+        removedStudentIds.add(studentId);
+        return this;
+    }
+
+    public ScheduleDelta removeClassroom(int classroomId) {
+        removedClassroomIds.add(classroomId);
+        return this;
+    }
+
+    /**
+     * @param courseName the course whose exam duration changed
+     * @param durationMinutes the new exam duration
+     */
+    public ScheduleDelta changeDuration(String courseName, int durationMinutes) {
+        courseDurations.put(courseName, durationMinutes);
+        return this;
+    }
+
+    /**
+     * @return true if no edit was recorded
+     */
+    public boolean isEmpty() {
+        return removedStudentIds.isEmpty() && removedClassroomIds.isEmpty() && courseDurations.isEmpty();
+    }
+
+    public Set<Integer> getRemovedStudentIds() {
+        return Collections.unmodifiableSet(removedStudentIds);
+    }
+
+    public Set<Integer> getRemovedClassroomIds() {
+        return Collections.unmodifiableSet(removedClassroomIds);
+    }
+
+    public Map<String, Integer> getCourseDurations() {
+        return Collections.unmodifiableMap(courseDurations);
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleDelta{" +
+                "removedStudentIds=" + removedStudentIds +
+                ", removedClassroomIds=" + removedClassroomIds +
+                ", courseDurations=" + courseDurations +
+                '}';
+    }
+}
@@ -2,8 +2,17 @@ package examschd.service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
 
 import examschd.model.Classroom;
 import examschd.model.Course;
@@ -14,135 +23,129 @@ import examschd.model.ExamSession;
 import examschd.model.ScheduleResult;
 import examschd.model.SchedulingFailureReason;
 import examschd.model.Student;
-import examschd.model.StudentAssignment;
-import examschd.model.TimeSlottedExam;
 
 public class Scheduler {
 
-    public Scheduler() {}
+    private static final List<String> ORDERING_NAMES = List.of("Conflict Score", "Student Count", "Duration", "DSATUR");
+    private static final String RANDOMIZED_RESTARTS = "Randomized Restarts";
+    private static final String COMPONENT_DECOMPOSITION = "Component Decomposition";
+    private static final String REPAIR = "Repair";
+    private static final String WARM_START = "Warm Start";
 
-    /* ===================== HELPERS ===================== */
+    // Relative score noise of the randomized restarts (0.2 = scores may move by up to 20%)
+    private static final double RESTART_NOISE = 0.2;
 
-    private List<LocalDateTime> generatePossibleStartTimes(LocalDate day, ExamConfig config) {
-        List<LocalDateTime> startTimes = new ArrayList<>();
-        int startHour = config.getExamStartHour();
-        int endHour = config.getExamEndHour();
+    // The exact search only runs on instances with fewer courses than this
+    static final int EXACT_SEARCH_MAX_COURSES = 80;
 
-        // Generate possible start times every 30 minutes
-        for (int hour = startHour; hour < endHour; hour++) {
-            for (int minute = 0; minute < 60; minute += 30) {
-                startTimes.add(LocalDateTime.of(day, LocalTime.of(hour, minute)));
-            }
-        }
+    private final SchedulingListener listener;
 
-        return startTimes;
-    }
-
-    private boolean wouldExceedDayBoundary(LocalDateTime startTime, int durationMinutes, ExamConfig config) {
-        LocalDateTime endTime = startTime.plusMinutes(durationMinutes);
-        int endHour = endTime.getHour();
-        int endMinute = endTime.getMinute();
-
-        if (endHour > config.getExamEndHour()) return true;
-        if (endHour == config.getExamEndHour() && endMinute > 0) return true;
-
-        return false;
+    public Scheduler() {
+        this(SchedulingListener.NONE);
     }
 
     /**
-     * Calculates the conflict score for a course.
-     * The conflict score is the number of OTHER courses that share students with this course.
-     * Higher conflict score = harder to schedule (more constrained).
-     *
-     * @param course the course to analyze
-     * @param allCourses all courses in the system
-     * @return the number of courses that have overlapping students
+     * @param listener receives progress events (use {@link ConsoleSchedulingListener} for console output)
      */
-    private int calculateConflictScore(Course course, List<Course> allCourses) {
-        int conflictingCoursesCount = 0;
-
-        for (Course otherCourse : allCourses) {
-            // Skip comparing course with itself
-            if (otherCourse.equals(course)) {
-                continue;
-            }
-
-            // Check if this course and otherCourse share any students
-            boolean hasSharedStudents = false;
-            for (Student student : course.getStudents()) {
-                if (otherCourse.getStudents().contains(student)) {
-                    hasSharedStudents = true;
-                    break;
-                }
-            }
-
-            if (hasSharedStudents) {
-                conflictingCoursesCount++;
-            }
-        }
-
-        return conflictingCoursesCount;
+    public Scheduler(SchedulingListener listener) {
+        this.listener = listener;
     }
 
+    /* ===================== HELPERS ===================== */
+
     /**
      * Sorts courses by their conflict score in descending order (most constrained first).
      * This is the "Most Constrained Variable First" heuristic from constraint satisfaction.
      * Courses with more conflicts are scheduled first, leaving more flexible courses for later.
+     * The conflict score is the course's degree in the precomputed conflict graph.
      *
-     * @param courses the courses to sort
-     * @return courses sorted by conflict score (descending)
+     * @param problem the compiled problem
+     * @param conflictGraph the conflict graph built for this run
+     * @return course ids sorted by conflict score (descending)
      */
-    private List<Course> sortByConflicts(List<Course> courses) {
-        List<Course> sorted = new ArrayList<>(courses);
-
-        // Sort by conflict score descending (most conflicts first)
-        sorted.sort((courseA, courseB) -> {
-            int conflictA = calculateConflictScore(courseA, courses);
-            int conflictB = calculateConflictScore(courseB, courses);
-            return Integer.compare(conflictB, conflictA);
-        });
-
-        return sorted;
+    private int[] sortByConflicts(SchedulingProblem problem, ConflictGraph conflictGraph) {
+        return sortDescending(problem.courseCount(), conflictGraph::degree);
     }
 
     /**
      * Sorts courses by student count in descending order (largest classes first).
      */
-    private List<Course> sortByStudentCount(List<Course> courses) {
-        List<Course> sorted = new ArrayList<>(courses);
-        sorted.sort((a, b) -> Integer.compare(b.getStudents().size(), a.getStudents().size()));
-        return sorted;
+    private int[] sortByStudentCount(SchedulingProblem problem) {
+        return sortDescending(problem.courseCount(), problem::courseSize);
     }
 
     /**
      * Sorts courses by exam duration in descending order (longest exams first).
      */
-    private List<Course> sortByDuration(List<Course> courses) {
-        List<Course> sorted = new ArrayList<>(courses);
-        sorted.sort((a, b) -> Integer.compare(b.getDurationMinutes(), a.getDurationMinutes()));
-        return sorted;
+    private int[] sortByDuration(SchedulingProblem problem) {
+        return sortDescending(problem.courseCount(), problem::courseDuration);
+    }
+
+    /**
+     * Stable descending sort of the course ids 0..courseCount-1 by the given key,
+     * so courses with equal keys keep their input order.
+     */
+    private int[] sortDescending(int courseCount, IntUnaryOperator key) {
+        Integer[] sorted = new Integer[courseCount];
+        for (int c = 0; c < courseCount; c++) {
+            sorted[c] = c;
+        }
+        Arrays.sort(sorted, (a, b) -> Integer.compare(key.applyAsInt(b), key.applyAsInt(a)));
+
+        int[] order = new int[courseCount];
+        for (int i = 0; i < courseCount; i++) {
+            order[i] = sorted[i];
+        }
+        return order;
+    }
+
+    /**
+     * Descending sort by a perturbed key, used by the randomized restarts.
+     * Each score is scaled by a random factor in [1, 1 + noise) and gets a random
+     * fraction added, so courses with equal scores are shuffled and close scores
+     * may swap, while clearly different scores keep their order.
+     *
+     * @param random seeded source of the noise, so the same seed gives the same order
+     */
+    private int[] sortDescendingWithNoise(int courseCount, IntUnaryOperator key,
+                                          double noise, SplittableRandom random) {
+        double[] noisyKey = new double[courseCount];
+        Integer[] sorted = new Integer[courseCount];
+        for (int c = 0; c < courseCount; c++) {
+            noisyKey[c] = key.applyAsInt(c) * (1 + noise * random.nextDouble()) + random.nextDouble();
+            sorted[c] = c;
+        }
+        Arrays.sort(sorted, (a, b) -> Double.compare(noisyKey[b], noisyKey[a]));
+
+        int[] order = new int[courseCount];
+        for (int i = 0; i < courseCount; i++) {
+            order[i] = sorted[i];
+        }
+        return order;
     }
 
+    /**
+     * Seats the students in the session's partitions in enrollment order, up to
+     * each room's capacity. The partitions share one student array and build
+     * their StudentAssignment objects only on demand.
+     *
+     * @return the next free assignment id
+     */
     private int assignStudentsToPartitions(ExamSession session, List<Student> students,
                                            List<Classroom> assignedRooms, int startAssignmentId) {
         int assignmentId = startAssignmentId;
-        List<Student> studentList = new ArrayList<>(students);
+        Student[] seating = students.toArray(new Student[0]);
         int studentIndex = 0;
 
         for (int i = 0; i < assignedRooms.size(); i++) {
             Classroom room = assignedRooms.get(i);
             ExamPartition partition = session.getPartitions().get(i);
-            int seatNumber = 1;
 
             // Assign students to this partition up to room capacity
-            while (studentIndex < studentList.size() && seatNumber <= room.getCapacity()) {
-                Student student = studentList.get(studentIndex);
-                StudentAssignment assignment = new StudentAssignment(
-                    assignmentId++, seatNumber++, student, partition
-                );
-                partition.addAssignment(assignment);
-                studentIndex++;
-            }
+            int seated = Math.min(room.getCapacity(), seating.length - studentIndex);
+            partition.seatStudents(seating, studentIndex, seated, assignmentId);
+            assignmentId += seated;
+            studentIndex += seated;
         }
 
         return assignmentId;
@@ -166,190 +169,189 @@ public class Scheduler {
      * - Exams with the same start time can share the pooled capacity of all rooms.
      * - Any overlap with a different start time makes the slot unavailable.
      *
-     * @param startTime the start time of the time slot
-     * @param endTime the end time of the time slot
-     * @param allRooms all available classrooms
-     * @param roomTurnoverMinutes buffer time needed between exams in same room
-     * @param alreadyTimeSlottedExams exams that have already been assigned to a time slot
+     * @param startMinute the start of the time slot (horizon minutes)
+     * @param endMinute the end of the time slot (horizon minutes)
+     * @param problem the compiled problem (rooms and turnover)
+     * @param placements exams that have already been assigned to a time slot
+     * @param roomLedger rooms committed per start time by the placements
      * @return the remaining capacity available at this exact time slot (int)
      */
     private int getRemainingCapacityAtTimeSlot(
-            LocalDateTime startTime,
-            LocalDateTime endTime,
-            List<Classroom> allRooms,
-            int roomTurnoverMinutes,
-            List<TimeSlottedExam> alreadyTimeSlottedExams,
+            int startMinute,
+            int endMinute,
+            SchedulingProblem problem,
+            SlotPlacements placements,
+            StartTimeRoomLedger roomLedger,
             int candidateStudentCount) {
 
-        // Step 1: Total pooled capacity from all rooms
-        int totalCapacityAtThisTime = 0;
-        for (Classroom currentRoom : allRooms) {
-            totalCapacityAtThisTime += currentRoom.getCapacity();
-        }
-
-        // Step 2: If any overlapping exam has a different start time, block this slot
-        int capacityCommitted = 0;
-        LocalDateTime endTimeWithTurnover = endTime.plusMinutes(roomTurnoverMinutes);
-
-        for (TimeSlottedExam existingExam : alreadyTimeSlottedExams) {
-            LocalDateTime existingStart = existingExam.getStartTime();
-            LocalDateTime existingEndWithTurnover =
-                existingExam.getEndTime().plusMinutes(roomTurnoverMinutes);
+        // Step 1: If any overlapping exam has a different start time, block this slot
+        int roomTurnoverMinutes = problem.roomTurnoverMinutes();
+        int endWithTurnover = endMinute + roomTurnoverMinutes;
 
-            boolean overlaps = !(endTimeWithTurnover.isBefore(existingStart) ||
-                                 existingEndWithTurnover.isBefore(startTime));
+        for (int i = 0; i < placements.size(); i++) {
+            int existingStart = placements.startMinute(i);
 
-            if (overlaps && !existingStart.equals(startTime)) {
-                return 0;
+            if (existingStart == startMinute) {
+                continue;
             }
 
-            if (existingStart.equals(startTime)) {
-                capacityCommitted += existingExam.getStudentCount();
+            int existingEndWithTurnover = placements.endMinute(i) + roomTurnoverMinutes;
+            boolean overlaps = endWithTurnover >= existingStart && existingEndWithTurnover >= startMinute;
+            if (overlaps) {
+                return 0;
             }
         }
 
-        // Step 3: Ensure enough rooms exist for all exams at this same start time
-        if (!canAllocateRoomsAtSameStart(
-                startTime, candidateStudentCount, allRooms, alreadyTimeSlottedExams)) {
+        // Step 2: Ensure enough rooms exist for all exams at this same start time
+        if (!roomLedger.canFit(startMinute, candidateStudentCount)) {
             return 0;
         }
 
-        // Step 4: Return the remaining pooled capacity
-        int remainingCapacity = totalCapacityAtThisTime - capacityCommitted;
+        // Step 3: Return the remaining pooled capacity
+        int remainingCapacity = problem.totalRoomCapacity() - roomLedger.committedStudents(startMinute);
         return Math.max(0, remainingCapacity); // Never return negative
     }
 
-    private boolean canAllocateRoomsAtSameStart(
-            LocalDateTime startTime,
-            int candidateStudentCount,
-            List<Classroom> allRooms,
-            List<TimeSlottedExam> alreadyTimeSlottedExams) {
-
-        List<Integer> studentCounts = new ArrayList<>();
-        for (TimeSlottedExam existingExam : alreadyTimeSlottedExams) {
-            if (existingExam.getStartTime().equals(startTime)) {
-                studentCounts.add(existingExam.getStudentCount());
-            }
-        }
-        studentCounts.add(candidateStudentCount);
-        studentCounts.sort(Comparator.reverseOrder());
-
-        List<Classroom> availableRooms = new ArrayList<>(allRooms);
-        availableRooms.sort((roomA, roomB) ->
-            Integer.compare(roomB.getCapacity(), roomA.getCapacity())
-        );
-
-        for (int count : studentCounts) {
-            List<Classroom> allocatedRooms = allocateRoomsForExam(count, availableRooms);
-            if (allocatedRooms == null) {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
     /**
      * Phase 1 of scheduling: Assigns time slots to all courses.
      * This method checks student constraints and classroom capacity to determine
      * if a course can be scheduled at a specific time.
+     * Courses, students and times are the int ids and {@link TimeHorizon} minutes
+     * of the compiled problem.
      *
-     * @param sortedCourses courses to schedule (sorted by enrollment size)
-     * @param allRooms all available classrooms
-     * @param examDays all available exam days
-     * @param config scheduling configuration with constraints
-     * @param failureReasons map to populate with failure reasons for unscheduled courses
-     * @return list of exams with assigned time slots (no classrooms yet)
-     */
-    private List<TimeSlottedExam> assignTimeSlots(
-            List<Course> sortedCourses,
-            List<Classroom> allRooms,
-            List<LocalDate> examDays,
-            ExamConfig config,
-            Map<Course, SchedulingFailureReason> failureReasons) {
-
-        System.out.println("\n=== PHASE 1: TIME SLOT ASSIGNMENT ===");
-
-        List<TimeSlottedExam> timeSlottedExams = new ArrayList<>();
-        Set<LocalDateTime> usedTimeSlots = new LinkedHashSet<>();
+     * Runs without reporting events, since the orderings are tried concurrently;
+     * the winner's events are replayed by {@link #reportTimeSlots}.
+     *
+     * Pinned exams are recorded in the occupancy indexes before the first course
+     * is tried, as they are and without any check, and come first in the
+     * placements; the sequence skips them afterwards.
+     *
+     * @param sequence hands out the course ids in the order they should be scheduled
+     * @param problem the compiled problem
+     * @param preferredStarts per course id, a start minute to try before any other (-1 = none),
+     *                       or null when there are no preferences
+     * @param failureReasons per course id, filled with the reason for each unscheduled course
+     * @param processedOrder filled with the course ids in the order they were tried
+     * @param cancellation checked before each course
+     * @return the placed exams, in placement order (no classrooms yet)
+     */
+    private SlotPlacements assignTimeSlots(
+            CourseSequence sequence,
+            SchedulingProblem problem,
+            int[] preferredStarts,
+            SchedulingFailureReason[] failureReasons,
+            int[] processedOrder,
+            CancellationToken cancellation) {
+
+        TimeHorizon horizon = problem.horizon();
+        StartTimeGrid grid = problem.startTimeGrid();
+        int courseCount = problem.courseCount();
+        SlotPlacements placements = new SlotPlacements(courseCount);
+        // Start minutes that already hold an exam, in creation order (for bin-packing)
+        int[] usedTimeSlots = new int[courseCount];
+        int usedTimeSlotCount = 0;
+        SlotOccupancyIndex slotOccupancy = new SlotOccupancyIndex(horizon.lengthMinutes());
+        DailyExamCounter dailyExams = new DailyExamCounter(problem.studentCount(), horizon.dayCount());
+        StudentTimeline studentTimeline = new StudentTimeline(problem.studentCount());
+        StartTimeRoomLedger roomLedger = new StartTimeRoomLedger(problem);
+        FeasibleSlots feasibleSlots = new FeasibleSlots(problem);
+
+        int[] students = problem.courseStudents();
+        int maxExamsPerDay = problem.maxExamsPerDay();
+
+        // Preload the pinned exams; they are never checked or moved
+        int processedCount = 0;
+        for (int courseId : problem.pinnedCourses()) {
+            int startMinute = problem.pinnedStart(courseId);
+            int endMinute = startMinute + problem.courseDuration(courseId);
+            int[] pinnedRooms = problem.pinnedRooms(courseId);
+            int studentsFrom = problem.courseStudentStart(courseId);
+            int studentsTo = problem.courseStudentEnd(courseId);
+
+            processedOrder[processedCount++] = courseId;
+            placements.add(courseId, startMinute, endMinute, problem.courseSize(courseId));
+            if (!contains(usedTimeSlots, usedTimeSlotCount, startMinute)) {
+                usedTimeSlots[usedTimeSlotCount++] = startMinute;
+            }
+            slotOccupancy.occupy(startMinute, problem.courseStudentMask(courseId));
+            if (pinnedRooms != null) {
+                roomLedger.reserve(startMinute, pinnedRooms);
+            } else {
+                roomLedger.commit(startMinute, problem.courseSize(courseId));
+            }
+            dailyExams.record(students, studentsFrom, studentsTo, horizon.dayOf(startMinute));
+            studentTimeline.add(students, studentsFrom, studentsTo, startMinute, endMinute);
 
-        int maxExamsPerDay = config.getMaxExamsPerDay();
-        int roomTurnoverMinutes = config.getRoomTurnoverMinutes();
-        int studentGapMinutes = config.getStudentMinGapMinutes();
+            feasibleSlots.settle(courseId);
+            feasibleSlots.placed(courseId, startMinute, dailyExams);
+            sequence.placed(courseId, startMinute);
+        }
 
         // Try to schedule each course
-        for (Course currentCourse : sortedCourses) {
+        for (int courseId = sequence.next(); courseId >= 0; courseId = sequence.next()) {
+            cancellation.throwIfCancelled();
+            if (problem.isPinned(courseId)) {
+                continue;
+            }
+            processedOrder[processedCount++] = courseId;
             boolean hasBeenScheduled = false;
-            int studentCount = currentCourse.getStudents().size();
-            int durationMinutes = currentCourse.getDurationMinutes();
+            BitSet courseStudents = problem.courseStudentMask(courseId);
+            int studentsFrom = problem.courseStudentStart(courseId);
+            int studentsTo = problem.courseStudentEnd(courseId);
+            int studentCount = problem.courseSize(courseId);
+            int durationMinutes = problem.courseDuration(courseId);
             SchedulingFailureReason lastFailureReason = SchedulingFailureReason.NO_AVAILABLE_SLOTS;
 
-            // STRATEGY 1: Try to pack into existing time slots (bin-packing for efficiency)
-            for (LocalDateTime existingSlotStart : usedTimeSlots) {
-                if (hasBeenScheduled) {
-                    break; // Already scheduled this course, move to next
+            // STRATEGY 0: Keep the preferred start time, if one was given and it still fits
+            int preferredStart = preferredStarts == null ? -1 : preferredStarts[courseId];
+            if (preferredStart >= 0 && !horizon.exceedsDayBoundary(preferredStart, durationMinutes)) {
+                int dayIndex = horizon.dayOf(preferredStart);
+                int endMinute = preferredStart + durationMinutes;
+
+                SchedulingFailureReason failure = checkNewTimeSlot(
+                    courseId, preferredStart, endMinute, dayIndex, problem,
+                    studentTimeline, dailyExams, placements, roomLedger
+                );
+                if (failure == null) {
+                    placements.add(courseId, preferredStart, endMinute, studentCount);
+                    if (!contains(usedTimeSlots, usedTimeSlotCount, preferredStart)) {
+                        usedTimeSlots[usedTimeSlotCount++] = preferredStart;
+                    }
+                    slotOccupancy.occupy(preferredStart, courseStudents);
+                    roomLedger.commit(preferredStart, studentCount);
+                    dailyExams.record(students, studentsFrom, studentsTo, dayIndex);
+                    studentTimeline.add(students, studentsFrom, studentsTo, preferredStart, endMinute);
+
+                    hasBeenScheduled = true;
                 }
+            }
 
-                LocalDate dayOfExam = existingSlotStart.toLocalDate();
-                LocalDateTime slotEnd = existingSlotStart.plusMinutes(durationMinutes);
+            // STRATEGY 1: Try to pack into existing time slots (bin-packing for efficiency)
+            for (int slot = 0; slot < usedTimeSlotCount && !hasBeenScheduled; slot++) {
+                int slotStart = usedTimeSlots[slot];
+                int slotEnd = slotStart + durationMinutes;
+                int dayIndex = horizon.dayOf(slotStart);
 
                 // Check 1: Would the exam exceed the day boundary?
-                if (wouldExceedDayBoundary(existingSlotStart, durationMinutes, config)) {
+                if (horizon.exceedsDayBoundary(slotStart, durationMinutes)) {
                     continue; // Try next time slot
                 }
 
                 // Check 2: Do any students in this course already have exams at this time slot?
-                boolean hasStudentConflictAtSlot = false;
-                for (Student student : currentCourse.getStudents()) {
-                    for (TimeSlottedExam scheduled : timeSlottedExams) {
-                        if (scheduled.getStartTime().equals(existingSlotStart) &&
-                            scheduled.getCourse().getStudents().contains(student)) {
-                            hasStudentConflictAtSlot = true;
-                            break;
-                        }
-                    }
-                    if (hasStudentConflictAtSlot) break;
-                }
-
-                if (hasStudentConflictAtSlot) {
+                if (slotOccupancy.hasConflict(slotStart, courseStudents)) {
                     lastFailureReason = SchedulingFailureReason.STUDENT_CONFLICT;
                     continue; // Try next time slot
                 }
 
                 // Check 3: Does any student exceed max exams per day?
-                boolean studentExceedsMaxPerDay = false;
-                for (Student currentStudent : currentCourse.getStudents()) {
-                    int examsAlreadyOnThisDay = 0;
-                    for (TimeSlottedExam alreadyScheduled : timeSlottedExams) {
-                        if (alreadyScheduled.getStartTime().toLocalDate().equals(dayOfExam)) {
-                            boolean studentTakesThisCourse = alreadyScheduled.getCourse()
-                                .getStudents()
-                                .contains(currentStudent);
-                            if (studentTakesThisCourse) {
-                                examsAlreadyOnThisDay++;
-                            }
-                        }
-                    }
-
-                    if (examsAlreadyOnThisDay >= maxExamsPerDay) {
-                        studentExceedsMaxPerDay = true;
-                        break;
-                    }
-                }
-
-                if (studentExceedsMaxPerDay) {
+                if (dailyExams.anyAtLimit(students, studentsFrom, studentsTo, dayIndex, maxExamsPerDay)) {
                     lastFailureReason = SchedulingFailureReason.MAX_EXAMS_PER_DAY_EXCEEDED;
                     continue; // Try next time slot
                 }
 
                 // Check 4: Is there enough remaining capacity at this time slot?
                 int remainingCapacity = getRemainingCapacityAtTimeSlot(
-                    existingSlotStart,
-                    slotEnd,
-                    allRooms,
-                    roomTurnoverMinutes,
-                    timeSlottedExams,
-                    studentCount
+                    slotStart, slotEnd, problem, placements, roomLedger, studentCount
                 );
 
                 if (remainingCapacity < studentCount) {
@@ -358,398 +360,783 @@ public class Scheduler {
                 }
 
                 // SUCCESS: Schedule the exam at this existing time slot
-                TimeSlottedExam timeSlottedExam = new TimeSlottedExam(
-                    currentCourse,
-                    existingSlotStart,
-                    slotEnd,
-                    durationMinutes,
-                    studentCount
+                placements.add(courseId, slotStart, slotEnd, studentCount);
+                slotOccupancy.occupy(slotStart, courseStudents);
+                roomLedger.commit(slotStart, studentCount);
+                dailyExams.record(students, studentsFrom, studentsTo, dayIndex);
+                studentTimeline.add(students, studentsFrom, studentsTo, slotStart, slotEnd);
+
+                hasBeenScheduled = true;
+            }
+
+            // STRATEGY 2: If bin-packing failed, try new time slots on the start-time grid;
+            // only the slots still feasible for this course are visited
+            for (int slot = feasibleSlots.nextSlot(courseId, 0);
+                 slot >= 0 && !hasBeenScheduled;
+                 slot = feasibleSlots.nextSlot(courseId, slot + 1)) {
+
+                int startMinute = grid.start(slot);
+                int endMinute = startMinute + durationMinutes;
+                int dayIndex = horizon.dayOf(startMinute);
+
+                // Checks 2-3: student conflicts and remaining capacity
+                SchedulingFailureReason failure = checkNewTimeSlot(
+                    courseId, startMinute, endMinute, dayIndex, problem,
+                    studentTimeline, dailyExams, placements, roomLedger
                 );
+                if (failure != null) {
+                    continue;
+                }
 
-                timeSlottedExams.add(timeSlottedExam);
-                System.out.println("✓ Phase 1 Bin-packed: " + currentCourse.getCourseName() +
-                    " at " + existingSlotStart.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+                // SUCCESS: Create new time slot
+                placements.add(courseId, startMinute, endMinute, studentCount);
+                usedTimeSlots[usedTimeSlotCount++] = startMinute; // Track this time slot for future bin-packing
+                slotOccupancy.occupy(startMinute, courseStudents);
+                roomLedger.commit(startMinute, studentCount);
+                dailyExams.record(students, studentsFrom, studentsTo, dayIndex);
+                studentTimeline.add(students, studentsFrom, studentsTo, startMinute, endMinute);
 
                 hasBeenScheduled = true;
             }
 
-            // STRATEGY 2: If bin-packing failed, try new time slots
-            if (!hasBeenScheduled) {
-                for (LocalDate examDay : examDays) {
-                    if (hasBeenScheduled) {
-                        break; // Already scheduled, move to next course
-                    }
-
-                    List<LocalDateTime> possibleStartTimes = generatePossibleStartTimes(examDay, config);
-
-                    for (LocalDateTime startTime : possibleStartTimes) {
-                        if (hasBeenScheduled) {
-                            break; // Already scheduled
-                        }
-
-                        LocalDateTime endTime = startTime.plusMinutes(durationMinutes);
-
-                        // Check 1: Would exam exceed day boundary?
-                        if (wouldExceedDayBoundary(startTime, durationMinutes, config)) {
-                            continue;
-                        }
-
-                        // Check 2: Does each student in this course have any conflicts?
-                        boolean hasStudentConflict = false;
-                        boolean exceededMaxPerDay = false;
-                        for (Student currentStudent : currentCourse.getStudents()) {
-                            // Check if student has overlapping exam with gap buffer
-                            for (TimeSlottedExam scheduled : timeSlottedExams) {
-                                if (scheduled.getCourse().getStudents().contains(currentStudent)) {
-                                    // Check time overlap considering gap
-                                    LocalDateTime scheduledStart = scheduled.getStartTime();
-                                    LocalDateTime scheduledEnd = scheduled.getEndTime();
-                                    LocalDateTime gapStart = scheduledStart.minusMinutes(studentGapMinutes);
-                                    LocalDateTime gapEnd = scheduledEnd.plusMinutes(studentGapMinutes);
-
-                                    // Overlap if NOT (endTime <= gapStart OR startTime >= gapEnd)
-                                    if (!(endTime.compareTo(gapStart) <= 0 || startTime.compareTo(gapEnd) >= 0)) {
-                                        hasStudentConflict = true;
-                                        break;
-                                    }
-                                }
-                            }
-                            if (hasStudentConflict) break;
-
-                            // Check if student exceeds max exams per day
-                            int examsOnThisDay = 0;
-                            for (TimeSlottedExam alreadyScheduled : timeSlottedExams) {
-                                if (alreadyScheduled.getStartTime().toLocalDate().equals(examDay)) {
-                                    if (alreadyScheduled.getCourse().getStudents().contains(currentStudent)) {
-                                        examsOnThisDay++;
-                                    }
-                                }
-                            }
-                            if (examsOnThisDay >= maxExamsPerDay) {
-                                hasStudentConflict = true;
-                                exceededMaxPerDay = true;
-                                break;
-                            }
-                        }
-
-                        if (hasStudentConflict) {
-                            lastFailureReason = exceededMaxPerDay
-                                ? SchedulingFailureReason.MAX_EXAMS_PER_DAY_EXCEEDED
-                                : SchedulingFailureReason.STUDENT_CONFLICT;
-                            continue;
-                        }
-
-                        // Check 3: Is there enough remaining capacity?
-                        int remainingCapacity = getRemainingCapacityAtTimeSlot(
-                            startTime,
-                            endTime,
-                            allRooms,
-                            roomTurnoverMinutes,
-                            timeSlottedExams,
-                            studentCount
-                        );
-
-                        if (remainingCapacity < studentCount) {
-                            lastFailureReason = SchedulingFailureReason.CLASSROOM_CAPACITY_INSUFFICIENT;
-                            continue; // Not enough capacity
-                        }
-
-                        // SUCCESS: Create new time slot
-                        TimeSlottedExam timeSlottedExam = new TimeSlottedExam(
-                            currentCourse,
-                            startTime,
-                            endTime,
-                            durationMinutes,
-                            studentCount
-                        );
-
-                        timeSlottedExams.add(timeSlottedExam);
-                        usedTimeSlots.add(startTime); // Track this time slot for future bin-packing
-
-                        System.out.println("✓ Phase 1 Scheduled: " + currentCourse.getCourseName() +
-                            " at " + startTime.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
-
-                        hasBeenScheduled = true;
-                    }
+            // Report the reason of the last slot a full grid scan would have tried
+            int fittingSlots = grid.fittingSlotsPerDay(courseId);
+            if (!hasBeenScheduled && fittingSlots > 0 && grid.dayCount() > 0) {
+                int lastSlot = grid.firstSlot(grid.dayCount() - 1) + fittingSlots - 1;
+                int lastStart = grid.start(lastSlot);
+                SchedulingFailureReason failure = checkNewTimeSlot(
+                    courseId, lastStart, lastStart + durationMinutes, horizon.dayOf(lastStart), problem,
+                    studentTimeline, dailyExams, placements, roomLedger
+                );
+                if (failure != null) {
+                    lastFailureReason = failure;
                 }
             }
 
-            if (!hasBeenScheduled) {
-                System.out.println("✗ Phase 1 Failed: " + currentCourse.getCourseName() +
-                    " could not be time-slotted (" + lastFailureReason.getDisplayMessage() + ")");
-                failureReasons.put(currentCourse, lastFailureReason);
+            feasibleSlots.settle(courseId);
+            if (hasBeenScheduled) {
+                int startMinute = placements.startMinute(placements.size() - 1);
+                feasibleSlots.placed(courseId, startMinute, dailyExams);
+                sequence.placed(courseId, startMinute);
+            } else {
+                failureReasons[courseId] = lastFailureReason;
             }
         }
 
-        System.out.println("=== PHASE 1 COMPLETE: " + timeSlottedExams.size() + "/" +
-            sortedCourses.size() + " courses time-slotted ===\n");
+        return placements;
+    }
 
-        return timeSlottedExams;
+    /**
+     * The checks for opening an exam at a start time that is not reused through
+     * bin-packing: every student must be free (including the minimum gap) and
+     * below the daily limit, and the rooms must have enough remaining capacity.
+     *
+     * @return the reason the course cannot start here, or null if it can
+     */
+    private SchedulingFailureReason checkNewTimeSlot(
+            int courseId,
+            int startMinute,
+            int endMinute,
+            int dayIndex,
+            SchedulingProblem problem,
+            StudentTimeline studentTimeline,
+            DailyExamCounter dailyExams,
+            SlotPlacements placements,
+            StartTimeRoomLedger roomLedger) {
+
+        int[] students = problem.courseStudents();
+        int studentGapMinutes = problem.studentGapMinutes();
+        int maxExamsPerDay = problem.maxExamsPerDay();
+
+        // Does each student in this course have any conflicts?
+        for (int k = problem.courseStudentStart(courseId); k < problem.courseStudentEnd(courseId); k++) {
+            int studentId = students[k];
+
+            // Check if student has overlapping exam with gap buffer
+            if (studentTimeline.conflicts(studentId, startMinute, endMinute, studentGapMinutes)) {
+                return SchedulingFailureReason.STUDENT_CONFLICT;
+            }
+
+            // Check if student exceeds max exams per day
+            if (dailyExams.count(studentId, dayIndex) >= maxExamsPerDay) {
+                return SchedulingFailureReason.MAX_EXAMS_PER_DAY_EXCEEDED;
+            }
+        }
+
+        // Is there enough remaining capacity?
+        int studentCount = problem.courseSize(courseId);
+        int remainingCapacity = getRemainingCapacityAtTimeSlot(
+            startMinute, endMinute, problem, placements, roomLedger, studentCount
+        );
+        if (remainingCapacity < studentCount) {
+            return SchedulingFailureReason.CLASSROOM_CAPACITY_INSUFFICIENT;
+        }
+        return null;
     }
 
-    /* ===================== PHASE 2: CLASSROOM ASSIGNMENT ===================== */
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
 
     /**
-     * Phase 2 of scheduling: Assigns specific classrooms to time-slotted exams.
-     * This method takes the time-slotted exams from Phase 1 and assigns them to
-     * specific classrooms using bin-packing for efficiency.
+     * Reports the Phase 1 events of a finished attempt to the listener, in the
+     * order the attempt produced them. Placements are stored in scheduling order,
+     * so walking the ordering and the placements side by side restores the sequence.
+     */
+    private void reportTimeSlots(PhaseOneResult result, SchedulingProblem problem, ConflictGraph conflictGraph) {
+        listener.onPhaseStart(SchedulingListener.Phase.TIME_SLOT_ASSIGNMENT);
+
+        TimeHorizon horizon = problem.horizon();
+        SlotPlacements placements = result.placements();
+        Set<Integer> usedTimeSlots = new HashSet<>();
+        int placement = 0;
+
+        for (int courseId : result.order()) {
+            if (placement < placements.size() && placements.course(placement) == courseId) {
+                int startMinute = placements.startMinute(placement);
+                listener.onExamTimeSlotted(problem.course(courseId), horizon.toDateTime(startMinute),
+                    usedTimeSlots.add(startMinute));
+                placement++;
+            } else {
+                listener.onExamUnscheduled(problem.course(courseId), result.failureReasons()[courseId],
+                    conflictGraph.degree(courseId), conflictGraph.totalSharedStudents(courseId));
+            }
+        }
+
+        listener.onPhaseEnd(SchedulingListener.Phase.TIME_SLOT_ASSIGNMENT, placements.size(), result.order().length);
+    }
+
+    /* ===================== EXACT SEARCH ===================== */
+
+    /**
+     * Runs the time-boxed branch-and-bound search on the winning Phase 1 result.
      *
-     * @param timeSlottedExams exams with assigned time slots (from Phase 1)
-     * @param allRooms all available classrooms
-     * @param config scheduling configuration
-     * @param sessionIdStart starting ID for exam sessions
-     * @param partitionIdStart starting ID for partitions
-     * @param assignmentIdStart starting ID for student assignments
-     * @return map of dates to lists of scheduled exam sessions
+     * @see ExactSolver
      */
-    private Map<LocalDate, List<ExamSession>> assignClassrooms(
-            List<TimeSlottedExam> timeSlottedExams,
-            List<Classroom> allRooms,
-            ExamConfig config,
-            int sessionIdStart,
-            int partitionIdStart,
-            int assignmentIdStart) {
+    private PhaseOneResult solveExactly(
+            ExactSolver solver,
+            PhaseOneResult greedy,
+            SchedulingProblem problem,
+            int upperBound,
+            long timeLimitMillis,
+            CancellationToken cancellation) {
+
+        listener.onPhaseStart(SchedulingListener.Phase.EXACT_SEARCH);
+
+        PhaseOneResult exact = solver.solve(greedy, upperBound, timeLimitMillis, cancellation);
+        listener.onProgress(SchedulingListener.Phase.EXACT_SEARCH,
+            exact.scheduledCount(), exact.scheduledCount(), problem.courseCount());
+
+        listener.onPhaseEnd(SchedulingListener.Phase.EXACT_SEARCH,
+            exact.scheduledCount(), solver.isOptimal() ? exact.scheduledCount() : upperBound);
+        return exact;
+    }
 
-        System.out.println("\n=== PHASE 2: CLASSROOM ASSIGNMENT ===");
+    /* ===================== IMPROVEMENT: LOCAL SEARCH ===================== */
 
-        Map<LocalDate, List<ExamSession>> finalSchedule = new LinkedHashMap<>();
-        List<ExamSession> allExamSessions = new ArrayList<>();
+    /**
+     * Runs the time-boxed local search on the winning Phase 1 result.
+     *
+     * @see LocalSearchImprover
+     */
+    private PhaseOneResult improve(
+            PhaseOneResult greedy,
+            SchedulingProblem problem,
+            ConflictGraph conflictGraph,
+            long timeLimitMillis,
+            CancellationToken cancellation) {
+
+        listener.onPhaseStart(SchedulingListener.Phase.IMPROVEMENT);
+
+        PhaseOneResult improved = new LocalSearchImprover(problem, conflictGraph)
+            .improve(greedy, timeLimitMillis, cancellation);
+        listener.onProgress(SchedulingListener.Phase.IMPROVEMENT,
+            improved.scheduledCount(), improved.scheduledCount(), problem.courseCount());
+
+        int unscheduledBefore = problem.courseCount() - greedy.scheduledCount();
+        listener.onPhaseEnd(SchedulingListener.Phase.IMPROVEMENT,
+            improved.scheduledCount() - greedy.scheduledCount(), unscheduledBefore);
+        return improved;
+    }
 
-        int currentSessionId = sessionIdStart;
-        int currentPartitionId = partitionIdStart;
-        int currentAssignmentId = assignmentIdStart;
+    /* ===================== PHASE 2: CLASSROOM ASSIGNMENT ===================== */
 
-        int roomTurnoverMinutes = config.getRoomTurnoverMinutes();
+    /**
+     * Phase 2 of scheduling: Assigns specific classrooms to time-slotted exams.
+     * This method takes the placements from Phase 1 and assigns them to
+     * specific classrooms using bin-packing for efficiency (largest free rooms
+     * first, or the {@link RoomCombinations} choice with optimal room selection).
+     * The exams of one start are served largest first, the order the
+     * {@link StartTimeRoomLedger} simulated when Phase 1 accepted them.
+     * Only room ids are chosen here; the ExamSession objects are built by
+     * {@link #decodeSchedule}. Pinned exams with fixed rooms get those rooms
+     * first and the other exams of their start share the rest.
+     *
+     * @param placements exams with assigned time slots (from Phase 1)
+     * @param problem the compiled problem
+     * @param cancellation checked before each start time
+     * @return the created sessions with their rooms, in creation order
+     */
+    private RoomAssignments assignClassrooms(
+            SlotPlacements placements,
+            SchedulingProblem problem,
+            CancellationToken cancellation) {
 
-        // Step 1: Group time-slotted exams by their time slot
-        Map<LocalDateTime, List<TimeSlottedExam>> examsByTimeSlot = new LinkedHashMap<>();
+        listener.onPhaseStart(SchedulingListener.Phase.CLASSROOM_ASSIGNMENT);
 
-        for (TimeSlottedExam timeSlottedExam : timeSlottedExams) {
-            LocalDateTime slotStart = timeSlottedExam.getStartTime();
+        RoomAssignments sessions = new RoomAssignments(placements.size());
+        int roomTurnoverMinutes = problem.roomTurnoverMinutes();
+
+        // Step 1: Group placements by their start time, in order of first appearance;
+        // within a start the largest exam goes first, as the Phase 1 ledger assumed
+        Map<Integer, List<Integer>> placementsByTimeSlot = new LinkedHashMap<>();
+        for (int i = 0; i < placements.size(); i++) {
+            placementsByTimeSlot.computeIfAbsent(placements.startMinute(i), k -> new ArrayList<>()).add(i);
+        }
+        for (List<Integer> placementsAtThisSlot : placementsByTimeSlot.values()) {
+            placementsAtThisSlot.sort((a, b) -> Integer.compare(placements.studentCount(b), placements.studentCount(a)));
+        }
 
-            // Add to the group for this time slot
-            examsByTimeSlot.computeIfAbsent(slotStart, k -> new ArrayList<>())
-                .add(timeSlottedExam);
+        int[] availableRooms = new int[problem.roomCount()];
+        RoomTimeline roomTimeline = new RoomTimeline(problem.roomCount());
+        RoomCombinations combinations = problem.optimalRoomSelection() ? new RoomCombinations(problem) : null;
+
+        // Pinned fixed rooms are reserved before any exam is seated, so an earlier
+        // start never takes them; SchedulingProblem rejected pins that collide
+        for (int i = 0; i < placements.size(); i++) {
+            int[] pinnedRooms = problem.pinnedRooms(placements.course(i));
+            if (pinnedRooms != null) {
+                for (int room : pinnedRooms) {
+                    roomTimeline.add(room, placements.startMinute(i), placements.endMinute(i));
+                }
+            }
         }
 
         // Step 2: For each time slot, assign classrooms to all exams at that time
-        for (Map.Entry<LocalDateTime, List<TimeSlottedExam>> slotEntry : examsByTimeSlot.entrySet()) {
-            LocalDateTime slotStart = slotEntry.getKey();
-            List<TimeSlottedExam> examsAtThisSlot = slotEntry.getValue();
+        for (Map.Entry<Integer, List<Integer>> slotEntry : placementsByTimeSlot.entrySet()) {
+            cancellation.throwIfCancelled();
+            int slotStart = slotEntry.getKey();
+            List<Integer> placementsAtThisSlot = slotEntry.getValue();
 
             // Find all rooms that are available during this entire time slot
-            LocalDateTime slotEnd = slotStart;
-            for (TimeSlottedExam exam : examsAtThisSlot) {
-                if (exam.getEndTime().isAfter(slotEnd)) {
-                    slotEnd = exam.getEndTime();
-                }
+            int slotEnd = slotStart;
+            for (int placement : placementsAtThisSlot) {
+                slotEnd = Math.max(slotEnd, placements.endMinute(placement));
             }
 
-            List<Classroom> availableRoomsAtThisSlot = findAvailableRoomsForSlot(
-                slotStart,
-                slotEnd,
-                allRooms,
-                roomTurnoverMinutes,
-                allExamSessions
+            int availableCount = findAvailableRoomsForSlot(
+                slotStart, slotEnd, roomTurnoverMinutes, problem, roomTimeline, availableRooms
             );
 
-            // Assign classrooms to each exam at this time slot using bin-packing
-            for (TimeSlottedExam currentExam : examsAtThisSlot) {
-                int studentsInThisCourse = currentExam.getStudentCount();
-                LocalDateTime examEnd = currentExam.getEndTime();
-
-                // Allocate rooms for this specific exam (removes them from available pool)
-                List<Classroom> allocatedRooms = allocateRoomsForExam(
-                    studentsInThisCourse,
-                    availableRoomsAtThisSlot
-                );
-
-                if (allocatedRooms == null) {
-                    // PHASE 2 FAILURE - This should not happen if Phase 1 capacity tracking is correct
-                    System.err.println("PHASE 2 FAILURE: Cannot assign rooms for " +
-                        currentExam.getCourse().getCourseName() +
-                        " - THIS INDICATES A BUG IN PHASE 1 CAPACITY TRACKING!");
+            // Pinned exams with fixed rooms take their reserved rooms as they are
+            for (int placement : placementsAtThisSlot) {
+                int[] pinnedRooms = problem.pinnedRooms(placements.course(placement));
+                if (pinnedRooms == null) {
                     continue;
                 }
+                sessions.add(placement, pinnedRooms, 0, pinnedRooms.length);
 
-                // Create the exam session with assigned rooms
-                ExamSession examSession = new ExamSession(
-                    currentSessionId++,
-                    slotStart,
-                    examEnd,
-                    currentExam.getDurationMinutes(),
-                    currentExam.getCourse()
-                );
-
-                // Add each allocated room as a partition in this exam session
-                int remainingStudents = studentsInThisCourse;
-                for (Classroom allocatedRoom : allocatedRooms) {
-                    int capacityToAssign = Math.min(allocatedRoom.getCapacity(), remainingStudents);
-
-                    ExamPartition partition = new ExamPartition(
-                        currentPartitionId++,
-                        capacityToAssign,
-                        allocatedRoom
-                    );
+                listener.onRoomsAssigned(problem.course(placements.course(placement)), pinnedRooms.length);
+                listener.onProgress(SchedulingListener.Phase.CLASSROOM_ASSIGNMENT,
+                    sessions.size(), placements.size(), problem.courseCount());
+            }
 
-                    examSession.addPartition(partition);
-                    remainingStudents -= capacityToAssign;
+            // Assign classrooms to each exam at this time slot using bin-packing;
+            // rooms are taken from the front of the available list
+            int nextRoom = 0;
+            for (int placement : placementsAtThisSlot) {
+                if (problem.pinnedRooms(placements.course(placement)) != null) {
+                    continue;
+                }
+                int firstRoom = nextRoom;
+                int remainingStudents = placements.studentCount(placement);
+                if (combinations != null) {
+                    // Optimal selection: move the least wasteful free rooms to the front first
+                    int[] taken = combinations.select(
+                        combinations.multisetOf(availableRooms, nextRoom, availableCount), remainingStudents);
+                    if (taken != null) {
+                        combinations.moveToFront(taken, availableRooms, nextRoom, availableCount);
+                    }
+                }
+                while (nextRoom < availableCount && remainingStudents > 0) {
+                    remainingStudents -= problem.roomCapacity(availableRooms[nextRoom++]);
                 }
 
-                // Assign students to the partitions they'll sit in
-                currentAssignmentId = assignStudentsToPartitions(
-                    examSession,
-                    currentExam.getCourse().getStudents(),
-                    allocatedRooms,
-                    currentAssignmentId
-                );
-
-                // Add to the full schedule
-                allExamSessions.add(examSession);
-                LocalDate examDate = slotStart.toLocalDate();
-                finalSchedule.computeIfAbsent(examDate, k -> new ArrayList<>())
-                    .add(examSession);
+                if (remainingStudents > 0) {
+                    // PHASE 2 FAILURE - This should not happen if Phase 1 capacity tracking is correct
+                    listener.onRoomAssignmentFailed(problem.course(placements.course(placement)));
+                    continue;
+                }
 
-                // Update the course's exam sessions
-                currentExam.getCourse().getExamSessions().add(examSession);
+                sessions.add(placement, availableRooms, firstRoom, nextRoom);
+                for (int r = firstRoom; r < nextRoom; r++) {
+                    roomTimeline.add(availableRooms[r], slotStart, placements.endMinute(placement));
+                }
 
-                System.out.println("✓ Phase 2 Assigned: " + currentExam.getCourse().getCourseName() +
-                    " in " + allocatedRooms.size() + " room(s)");
+                listener.onRoomsAssigned(problem.course(placements.course(placement)), nextRoom - firstRoom);
+                listener.onProgress(SchedulingListener.Phase.CLASSROOM_ASSIGNMENT,
+                    sessions.size(), placements.size(), problem.courseCount());
             }
         }
 
-        System.out.println("=== PHASE 2 COMPLETE: " + allExamSessions.size() +
-            " exams assigned to classrooms ===\n");
+        listener.onPhaseEnd(SchedulingListener.Phase.CLASSROOM_ASSIGNMENT, sessions.size(), placements.size());
 
-        return finalSchedule;
+        return sessions;
     }
 
     /**
      * Finds all classrooms that are available (not occupied) during a specific time window.
+     * Each room is checked against its own occupancy timeline, so a query costs
+     * O(rooms x log sessions per room) instead of scanning every created session.
      *
-     * @param startTime start of the time window
-     * @param endTime end of the time window
-     * @param allRooms all available classrooms
+     * @param startMinute start of the time window (horizon minutes)
+     * @param endMinute end of the time window (horizon minutes)
      * @param roomTurnoverMinutes buffer time needed between exams
-     * @param allScheduledSessions all exams already scheduled
-     * @return list of available classrooms at this time
+     * @param problem the compiled problem
+     * @param roomTimeline sessions created so far, per room
+     * @param availableRooms filled with the free room ids, largest capacity first
+     * @return number of available rooms written to availableRooms
      */
-    private List<Classroom> findAvailableRoomsForSlot(
-            LocalDateTime startTime,
-            LocalDateTime endTime,
-            List<Classroom> allRooms,
+    private int findAvailableRoomsForSlot(
+            int startMinute,
+            int endMinute,
             int roomTurnoverMinutes,
-            List<ExamSession> allScheduledSessions) {
-
-        List<Classroom> availableRooms = new ArrayList<>();
-        LocalDateTime endTimeWithTurnover = endTime.plusMinutes(roomTurnoverMinutes);
-
-        // Check each room to see if it's available
-        for (Classroom currentRoom : allRooms) {
-            boolean isRoomOccupied = false;
-
-            // Look through all scheduled exams to see if this room is in use
-            for (ExamSession scheduledSession : allScheduledSessions) {
-                for (ExamPartition partition : scheduledSession.getPartitions()) {
-                    if (partition.getClassroom().equals(currentRoom)) {
-                        // This room is used by the scheduled session
-                        // Check if the time windows overlap
-                        LocalDateTime sessionEndWithTurnover =
-                            scheduledSession.getEndTime().plusMinutes(roomTurnoverMinutes);
-
-                        if (!(endTimeWithTurnover.isBefore(scheduledSession.getStartTime()) ||
-                              sessionEndWithTurnover.isBefore(startTime))) {
-                            // Time windows overlap - room is occupied
-                            isRoomOccupied = true;
-                            break;
-                        }
-                    }
-                }
-                if (isRoomOccupied) break;
+            SchedulingProblem problem,
+            RoomTimeline roomTimeline,
+            int[] availableRooms) {
+
+        // Walk the rooms largest first so the result is already sorted for bin-packing
+        int availableCount = 0;
+        for (int room : problem.roomsByCapacity()) {
+            if (roomTimeline.isFree(room, startMinute, endMinute, roomTurnoverMinutes)) {
+                availableRooms[availableCount++] = room;
             }
+        }
+
+        return availableCount;
+    }
+
+    /* ===================== DECODE ===================== */
+
+    /**
+     * Builds the model objects for the chosen schedule: one ExamSession per
+     * created session with a partition per room and students seated in
+     * enrollment order. IDs are assigned sequentially in creation order.
+     *
+     * @param problem the compiled problem
+     * @param placements the Phase 1 placements
+     * @param sessions the Phase 2 room assignments
+     * @return map of dates to lists of scheduled exam sessions
+     */
+    private Map<LocalDate, List<ExamSession>> decodeSchedule(
+            SchedulingProblem problem,
+            SlotPlacements placements,
+            RoomAssignments sessions) {
 
-            if (!isRoomOccupied) {
-                availableRooms.add(currentRoom);
+        Map<LocalDate, List<ExamSession>> finalSchedule = new LinkedHashMap<>();
+        TimeHorizon horizon = problem.horizon();
+
+        int currentSessionId = 1;
+        int currentPartitionId = 1;
+        int currentAssignmentId = 1;
+
+        for (int session = 0; session < sessions.size(); session++) {
+            int placement = sessions.placement(session);
+            Course course = problem.course(placements.course(placement));
+
+            ExamSession examSession = new ExamSession(
+                currentSessionId++,
+                horizon.toDateTime(placements.startMinute(placement)),
+                horizon.toDateTime(placements.endMinute(placement)),
+                course.getDurationMinutes(),
+                course
+            );
+
+            // Add each allocated room as a partition in this exam session
+            List<Classroom> allocatedRooms = new ArrayList<>(sessions.roomCount(session));
+            int remainingStudents = placements.studentCount(placement);
+            for (int r = 0; r < sessions.roomCount(session); r++) {
+                Classroom allocatedRoom = problem.room(sessions.room(session, r));
+                int capacityToAssign = Math.min(allocatedRoom.getCapacity(), remainingStudents);
+
+                examSession.addPartition(new ExamPartition(
+                    currentPartitionId++,
+                    capacityToAssign,
+                    allocatedRoom
+                ));
+                allocatedRooms.add(allocatedRoom);
+                remainingStudents -= capacityToAssign;
             }
+
+            // Assign students to the partitions they'll sit in
+            currentAssignmentId = assignStudentsToPartitions(
+                examSession, course.getStudents(), allocatedRooms, currentAssignmentId
+            );
+
+            finalSchedule.computeIfAbsent(examSession.getStartTime().toLocalDate(), k -> new ArrayList<>())
+                .add(examSession);
+
+            // Update the course's exam sessions
+            course.getExamSessions().add(examSession);
         }
 
-        // Sort rooms by capacity (largest first) for bin-packing efficiency
-        availableRooms.sort((roomA, roomB) ->
-            Integer.compare(roomB.getCapacity(), roomA.getCapacity())
-        );
+        return finalSchedule;
+    }
+
+    /* ===================== MAIN ===================== */
+
+    /**
+     * The fixed ordering strategies, tried on the whole problem and on every
+     * component; their names are {@link #ORDERING_NAMES}, in the same order.
+     */
+    private List<Supplier<CourseSequence>> orderingsFor(SchedulingProblem problem, ConflictGraph conflictGraph) {
+        List<Supplier<CourseSequence>> orderings = new ArrayList<>();
+
+        // Strategy 1: By conflict score (most constrained first)
+        int[] byConflicts = sortByConflicts(problem, conflictGraph);
+        orderings.add(() -> CourseSequence.fixed(byConflicts));
+
+        // Strategy 2: By student count (largest classes first)
+        int[] byStudentCount = sortByStudentCount(problem);
+        orderings.add(() -> CourseSequence.fixed(byStudentCount));
 
-        return availableRooms;
+        // Strategy 3: By duration (longest exams first)
+        int[] byDuration = sortByDuration(problem);
+        orderings.add(() -> CourseSequence.fixed(byDuration));
+
+        // Strategy 4: DSATUR (most saturated course next, re-picked after every placement)
+        orderings.add(() -> new DsaturSequence(conflictGraph));
+        return orderings;
     }
 
     /**
-     * Allocates classrooms for a single exam using bin-packing.
-     * Selects the minimum set of rooms (largest first) needed to accommodate all students.
-     * MODIFIES the input list by removing allocated rooms.
+     * Runs a single scheduling attempt with a specific course ordering.
+     * Only Phase 1 runs here; Phase 2 is run for the winning attempt only.
+     * All run state is created inside the attempt, so attempts can run concurrently
+     * on the same (read-only) problem and conflict graph.
      *
-     * @param studentCount number of students needing seats
-     * @param availableRooms list of available classrooms (will be modified)
-     * @return list of allocated rooms, or null if insufficient capacity
+     * @return the full Phase 1 output, so the winner does not have to be recomputed
      */
-    private List<Classroom> allocateRoomsForExam(
-            int studentCount,
-            List<Classroom> availableRooms) {
-
-        List<Classroom> allocatedRooms = new ArrayList<>();
-        int remainingStudents = studentCount;
+    private PhaseOneResult tryScheduleWithOrdering(
+            CourseSequence sequence,
+            SchedulingProblem problem,
+            CancellationToken cancellation) {
+        SchedulingFailureReason[] failureReasons = new SchedulingFailureReason[problem.courseCount()];
+        int[] processedOrder = new int[problem.courseCount()];
+        SlotPlacements placements = assignTimeSlots(
+            sequence, problem, null, failureReasons, processedOrder, cancellation
+        );
+        return new PhaseOneResult(processedOrder, placements, failureReasons);
+    }
 
-        // Bin-pack: take the largest available rooms first until all students fit
-        for (int i = 0; i < availableRooms.size() && remainingStudents > 0; i++) {
-            Classroom currentRoom = availableRooms.get(i);
-            allocatedRooms.add(currentRoom);
-            remainingStudents -= currentRoom.getCapacity();
+    /**
+     * Runs every ordering on a bounded thread pool (at most one thread per core).
+     * Each attempt gets a fresh sequence from its supplier.
+     *
+     * @return the Phase 1 result of each ordering, by ordering index
+     */
+    private PhaseOneResult[] runOrderingsInParallel(
+            List<Supplier<CourseSequence>> orderings,
+            SchedulingProblem problem,
+            CancellationToken cancellation) {
+
+        ExecutorService executor = newOrderingExecutor(orderings.size());
+        try {
+            return runOrderings(orderings, problem, executor, cancellation);
+        } finally {
+            executor.shutdownNow();
         }
+    }
 
-        // Remove allocated rooms from the available pool
-        availableRooms.removeAll(allocatedRooms);
+    /**
+     * @return a daemon thread pool with one thread per task, capped at the number of cores
+     */
+    private ExecutorService newOrderingExecutor(int taskCount) {
+        int threadCount = Math.max(1, Math.min(taskCount, Runtime.getRuntime().availableProcessors()));
+        return Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "scheduler-ordering");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
-        // Check if we have enough capacity for all students
-        if (remainingStudents > 0) {
-            return null; // Not enough capacity
+    /**
+     * Runs the orderings on the given executor and waits for all of them.
+     *
+     * @return the Phase 1 result of each ordering, by ordering index
+     */
+    private PhaseOneResult[] runOrderings(
+            List<Supplier<CourseSequence>> orderings,
+            SchedulingProblem problem,
+            ExecutorService executor,
+            CancellationToken cancellation) {
+
+        List<Callable<PhaseOneResult>> attempts = new ArrayList<>();
+        for (Supplier<CourseSequence> ordering : orderings) {
+            attempts.add(() -> tryScheduleWithOrdering(ordering.get(), problem, cancellation));
         }
+        return runAttempts(attempts, executor);
+    }
 
-        return allocatedRooms;
+    /**
+     * Runs the attempts on the given executor and waits for all of them.
+     * A cancelled attempt stops at its next course and its CancellationException
+     * is rethrown here as is.
+     *
+     * @return the Phase 1 result of each attempt, by attempt index
+     */
+    private PhaseOneResult[] runAttempts(List<Callable<PhaseOneResult>> attempts, ExecutorService executor) {
+        try {
+            List<Future<PhaseOneResult>> futures = new ArrayList<>();
+            for (Callable<PhaseOneResult> attempt : attempts) {
+                futures.add(executor.submit(attempt));
+            }
+
+            PhaseOneResult[] results = new PhaseOneResult[attempts.size()];
+            for (int i = 0; i < futures.size(); i++) {
+                results[i] = futures.get(i).get();
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Scheduling was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException) {
+                throw (CancellationException) e.getCause();
+            }
+            throw new RuntimeException("Scheduling attempt failed", e.getCause());
+        }
     }
 
-    /* ===================== MAIN ===================== */
+    /**
+     * Portfolio mode: runs randomized greedy restarts in batches of one restart
+     * per core. Restart i orders the courses by one of the fixed strategy scores
+     * (conflict score, student count, duration, in turn) with noise drawn from
+     * the seed plus i, so every restart is reproducible on its own.
+     *
+     * Batches run until all restarts are done, a restart reaches the target (the
+     * upper bound on schedulable courses), or the time budget has passed (checked
+     * between batches). The winner is the first
+     * restart with the highest count, so without a time limit the same seed
+     * always gives the same result, whatever the number of cores.
+     *
+     * @param targetCount stop once a restart schedules this many courses
+     * @param incumbentCount best count so far, only used for progress events
+     * @return the best restart's Phase 1 result
+     */
+    private PhaseOneResult runRandomizedRestarts(
+            SchedulingProblem problem,
+            ConflictGraph conflictGraph,
+            ExamConfig config,
+            int targetCount,
+            int incumbentCount,
+            CancellationToken cancellation) {
+
+        int restarts = config.getPortfolioRestarts();
+        long seed = config.getPortfolioSeed();
+        long deadline = config.getPortfolioTimeLimitMillis() > 0
+            ? System.nanoTime() + config.getPortfolioTimeLimitMillis() * 1_000_000L
+            : Long.MAX_VALUE;
+
+        List<IntUnaryOperator> scores = List.of(conflictGraph::degree, problem::courseSize, problem::courseDuration);
+        int batchSize = Math.max(1, Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = newOrderingExecutor(Math.min(batchSize, restarts));
+
+        try {
+            PhaseOneResult best = null;
+            for (int first = 0; first < restarts; first += batchSize) {
+                List<Supplier<CourseSequence>> batch = new ArrayList<>();
+                for (int restart = first; restart < Math.min(restarts, first + batchSize); restart++) {
+                    IntUnaryOperator score = scores.get(restart % scores.size());
+                    SplittableRandom random = new SplittableRandom(seed + restart);
+                    batch.add(() -> CourseSequence.fixed(
+                        sortDescendingWithNoise(problem.courseCount(), score, RESTART_NOISE, random)));
+                }
+
+                for (PhaseOneResult result : runOrderings(batch, problem, executor, cancellation)) {
+                    if (best == null || result.scheduledCount() > best.scheduledCount()) {
+                        best = result;
+                    }
+                }
+                listener.onProgress(SchedulingListener.Phase.TIME_SLOT_ASSIGNMENT, best.scheduledCount(),
+                    Math.max(incumbentCount, best.scheduledCount()), problem.courseCount());
+
+                if (best.scheduledCount() >= targetCount || System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+            return best;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
     /**
-     * Runs a single scheduling attempt with a specific course ordering.
-     * Returns the result without modifying Course.examSessions (that's done in the final pass).
+     * Component mode: courses in different connected components of the conflict
+     * graph share no students, so each component's time slots can be chosen on
+     * their own. Each component is compiled into its own sub-problem, so an
+     * attempt's run state is sized to the component, not to the whole problem.
+     * Its conflict graph is cut out of the whole graph rather than rebuilt.
+     * Every ordering runs on every component in parallel (a single-course
+     * component needs one attempt only) and each component keeps its best ordering.
+     *
+     * All components still share the rooms, so the chosen start times are merged
+     * in one more Phase 1 pass: courses go in order of their component start time
+     * (largest first within a start) and try that start before the normal search,
+     * which takes over when the shared rooms are already used. Courses that their
+     * component could not place go last. A component only sees its own pinned
+     * exams; the merge pass places all of them first, as every pass does.
+     *
+     * @return the merged Phase 1 result, with the number of courses the components placed on their own
      */
-    private ScheduleResult tryScheduleWithOrdering(
-            List<Course> orderedCourses,
-            List<Classroom> classrooms,
-            List<LocalDate> examDays,
-            ExamConfig config) {
+    private MergedComponents solveByComponents(
+            SchedulingProblem problem,
+            ConflictGraph conflictGraph,
+            int[] componentOf,
+            int componentCount,
+            CancellationToken cancellation) {
+
+        int courseCount = problem.courseCount();
+        int[][] componentCourses = new int[componentCount][];
+        int[] componentSizes = new int[componentCount];
+        for (int course = 0; course < courseCount; course++) {
+            componentSizes[componentOf[course]]++;
+        }
+        for (int component = 0; component < componentCount; component++) {
+            componentCourses[component] = new int[componentSizes[component]];
+            componentSizes[component] = 0;
+        }
+        for (int course = 0; course < courseCount; course++) {
+            int component = componentOf[course];
+            componentCourses[component][componentSizes[component]++] = course;
+        }
+
+        // Attempts of component c are firstAttempt[c] .. firstAttempt[c + 1]
+        List<Callable<PhaseOneResult>> attempts = new ArrayList<>();
+        int[] firstAttempt = new int[componentCount + 1];
+        for (int component = 0; component < componentCount; component++) {
+            firstAttempt[component] = attempts.size();
+            SchedulingProblem subProblem = problem.restrict(componentCourses[component]);
+            List<Supplier<CourseSequence>> orderings =
+                orderingsFor(subProblem, conflictGraph.restrict(componentCourses[component]));
+            if (subProblem.courseCount() == 1) {
+                orderings = orderings.subList(0, 1);
+            }
+            for (Supplier<CourseSequence> ordering : orderings) {
+                attempts.add(() -> tryScheduleWithOrdering(ordering.get(), subProblem, cancellation));
+            }
+        }
+        firstAttempt[componentCount] = attempts.size();
+
+        PhaseOneResult[] results;
+        ExecutorService executor = newOrderingExecutor(attempts.size());
+        try {
+            results = runAttempts(attempts, executor);
+        } finally {
+            executor.shutdownNow();
+        }
 
-        Map<Course, SchedulingFailureReason> failureReasons = new HashMap<>();
+        int[] preferredStarts = new int[courseCount];
+        Arrays.fill(preferredStarts, -1);
+        List<Integer> placedCourses = new ArrayList<>();
+        List<Integer> unplacedCourses = new ArrayList<>();
+        int componentScheduledCount = 0;
+
+        for (int component = 0; component < componentCount; component++) {
+            // First ordering with the highest count, as for the whole problem
+            PhaseOneResult best = results[firstAttempt[component]];
+            for (int i = firstAttempt[component] + 1; i < firstAttempt[component + 1]; i++) {
+                if (results[i].scheduledCount() > best.scheduledCount()) {
+                    best = results[i];
+                }
+            }
+            componentScheduledCount += best.scheduledCount();
+
+            // Sub-problem course ids back to course ids of the whole problem
+            int[] courseIds = componentCourses[component];
+            SlotPlacements placements = best.placements();
+            for (int i = 0; i < placements.size(); i++) {
+                int course = courseIds[placements.course(i)];
+                if (problem.isPinned(course)) {
+                    continue;
+                }
+                preferredStarts[course] = placements.startMinute(i);
+                placedCourses.add(course);
+            }
+            for (int subCourse : best.order()) {
+                int course = courseIds[subCourse];
+                if (!problem.isPinned(course) && preferredStarts[course] < 0) {
+                    unplacedCourses.add(course);
+                }
+            }
+        }
 
-        // PHASE 1: Time Slot Assignment
-        List<TimeSlottedExam> timeSlottedExams = assignTimeSlots(
-            orderedCourses, classrooms, examDays, config, failureReasons
+        PhaseOneResult merged = placeAtPreferredStarts(
+            problem, preferredStarts, placedCourses, unplacedCourses, cancellation
         );
+        return new MergedComponents(merged, componentScheduledCount);
+    }
 
-        // Track unscheduled courses
-        Set<Course> scheduledCourses = new HashSet<>();
-        for (TimeSlottedExam exam : timeSlottedExams) {
-            scheduledCourses.add(exam.getCourse());
+    /**
+     * The merged component-mode result. The components share no students, so the
+     * merge can only lose courses to the shared rooms: it did when it placed fewer
+     * than componentScheduledCount.
+     */
+    private static final class MergedComponents {
+        final PhaseOneResult result;
+        final int componentScheduledCount;
+
+        MergedComponents(PhaseOneResult result, int componentScheduledCount) {
+            this.result = result;
+            this.componentScheduledCount = componentScheduledCount;
         }
+    }
 
-        List<Course> unscheduledCourses = new ArrayList<>();
-        for (Course course : orderedCourses) {
-            if (!scheduledCourses.contains(course)) {
-                unscheduledCourses.add(course);
-            }
+    /**
+     * One Phase 1 pass that keeps the given start times where it can: the
+     * courses of placedCourses go first, in order of their preferred start
+     * (largest first within a start), then the other courses in the given order.
+     * Every course tries its preferred start, if it has one, before the normal
+     * search, which takes over when the start no longer passes the checks.
+     *
+     * @param preferredStarts per course id, the start minute to keep (-1 = none)
+     * @param placedCourses the courses to place first (sorted here)
+     * @param otherCourses the courses to place afterwards, in this order
+     * @return the Phase 1 result of the pass
+     */
+    private PhaseOneResult placeAtPreferredStarts(
+            SchedulingProblem problem,
+            int[] preferredStarts,
+            List<Integer> placedCourses,
+            List<Integer> otherCourses,
+            CancellationToken cancellation) {
+
+        placedCourses.sort(Comparator
+            .comparingInt((Integer course) -> preferredStarts[course])
+            .thenComparing(course -> -problem.courseSize(course)));
+
+        int courseCount = problem.courseCount();
+        int[] mergeOrder = new int[courseCount];
+        int position = 0;
+        for (int course : placedCourses) {
+            mergeOrder[position++] = course;
+        }
+        for (int course : otherCourses) {
+            mergeOrder[position++] = course;
         }
 
-        // For comparison purposes, we just need to know how many were scheduled
-        // We'll run Phase 2 only for the winning attempt
-        return new ScheduleResult(new LinkedHashMap<>(), unscheduledCourses, failureReasons);
+        SchedulingFailureReason[] failureReasons = new SchedulingFailureReason[courseCount];
+        int[] processedOrder = new int[courseCount];
+        SlotPlacements placements = assignTimeSlots(
+            CourseSequence.fixed(Arrays.copyOf(mergeOrder, position)), problem, preferredStarts,
+            failureReasons, processedOrder, cancellation
+        );
+        return new PhaseOneResult(processedOrder, placements, failureReasons);
     }
 
     public ScheduleResult generateSchedule(
@@ -761,16 +1148,69 @@ public class Scheduler {
             LocalDate startDate,
             LocalDate endDate) {
 
-        System.out.println("=== Generating Schedule ===");
-        System.out.println("Config: startHour=" + config.getExamStartHour() +
-            ", endHour=" + config.getExamEndHour() +
-            ", maxExamsPerDay=" + config.getMaxExamsPerDay() +
-            ", roomTurnover=" + config.getRoomTurnoverMinutes() +
-            "min, studentGap=" + config.getStudentMinGapMinutes() + "min");
-        System.out.println("Classrooms available: " + classrooms.size());
-        for (Classroom c : classrooms) {
-            System.out.println("  - " + c.getName() + " (capacity: " + c.getCapacity() + ")");
-        }
+        return generateSchedule(students, courses, classrooms, enrollments, config, startDate, endDate,
+            new CancellationToken());
+    }
+
+    /**
+     * Runs {@link #generateSchedule} on a background thread, so callers such as
+     * the UI thread stay responsive. Listener events are delivered on that thread.
+     * Cancelling the returned future cancels the token as well; a run stopped
+     * through the token completes the future with a CancellationException cause.
+     * Exam sessions are only added to the courses once the run can no longer be cancelled.
+     *
+     * @param cancellation lets the caller stop the run
+     * @return the future schedule result
+     */
+    public CompletableFuture<ScheduleResult> generateScheduleAsync(
+            List<Student> students,
+            List<Course> courses,
+            List<Classroom> classrooms,
+            List<Enrollment> enrollments,
+            ExamConfig config,
+            LocalDate startDate,
+            LocalDate endDate,
+            CancellationToken cancellation) {
+
+        return runAsync(
+            () -> generateSchedule(students, courses, classrooms, enrollments, config, startDate, endDate,
+                cancellation),
+            cancellation);
+    }
+
+    /**
+     * Runs the call on a new daemon thread; cancelling the returned future cancels the token as well.
+     */
+    private CompletableFuture<ScheduleResult> runAsync(Supplier<ScheduleResult> call, CancellationToken cancellation) {
+        CompletableFuture<ScheduleResult> future = CompletableFuture.supplyAsync(call, runnable -> {
+            Thread thread = new Thread(runnable, "scheduler");
+            thread.setDaemon(true);
+            thread.start();
+        });
+
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                cancellation.cancel();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Same as {@link #generateSchedule(List, List, List, List, ExamConfig, LocalDate, LocalDate)},
+     * but stops with a CancellationException once the token is cancelled.
+     */
+    public ScheduleResult generateSchedule(
+            List<Student> students,
+            List<Course> courses,
+            List<Classroom> classrooms,
+            List<Enrollment> enrollments,
+            ExamConfig config,
+            LocalDate startDate,
+            LocalDate endDate,
+            CancellationToken cancellation) {
+
+        listener.onScheduleStart(config, classrooms);
 
         buildRelationships(students, courses, enrollments);
         applyCourseDurations(courses, config);
@@ -778,75 +1218,386 @@ public class Scheduler {
         List<LocalDate> examDays = buildDateRange(startDate, endDate);
         if (examDays.isEmpty()) return new ScheduleResult(new LinkedHashMap<>(), new ArrayList<>());
 
-        // Try multiple ordering strategies and pick the best result
-        System.out.println("\n=== Trying Multiple Scheduling Strategies ===");
+        // Compiled once per run; every phase works on the int ids of the problem
+        SchedulingProblem problem = SchedulingProblem.compile(
+            students, courses, classrooms, config, startDate, examDays.size()
+        );
+        ConflictGraph conflictGraph = ConflictGraph.build(problem);
 
-        List<List<Course>> orderings = new ArrayList<>();
-        List<String> orderingNames = new ArrayList<>();
+        // No schedule can contain more than this many courses; search stops once it is reached
+        ScheduleBounds bounds = ScheduleBounds.compute(problem, conflictGraph);
+        reportBounds(bounds, problem);
+        int targetCount = bounds.upperBound();
 
-        // Strategy 1: By conflict score (most constrained first)
-        orderings.add(sortByConflicts(courses));
-        orderingNames.add("Conflict Score");
+        PhaseOneResult best = null;
+        String bestName = null;
+        int bestScheduledCount = -1;
 
-        // Strategy 2: By student count (largest classes first)
-        orderings.add(sortByStudentCount(courses));
-        orderingNames.add("Student Count");
+        // Optional: start from a previous schedule; the orderings only replace it if they do better
+        int[] seedStarts = seedStarts(problem, config, startDate);
+        if (seedStarts != null) {
+            List<Integer> seededCourses = new ArrayList<>();
+            List<Integer> otherCourses = new ArrayList<>();
+            for (int course : sortByConflicts(problem, conflictGraph)) {
+                if (seedStarts[course] >= 0) {
+                    seededCourses.add(course);
+                } else {
+                    otherCourses.add(course);
+                }
+            }
+            best = placeAtPreferredStarts(problem, seedStarts, seededCourses, otherCourses, cancellation);
+            bestName = WARM_START;
+            bestScheduledCount = best.scheduledCount();
+            listener.onStrategyEvaluated(WARM_START, bestScheduledCount, courses.size());
+            listener.onProgress(SchedulingListener.Phase.TIME_SLOT_ASSIGNMENT,
+                bestScheduledCount, bestScheduledCount, courses.size());
+        }
 
-        // Strategy 3: By duration (longest exams first)
-        orderings.add(sortByDuration(courses));
-        orderingNames.add("Duration");
+        // Optional: solve the independent course groups separately instead of the whole problem;
+        // the components only compete for rooms, so the whole-problem orderings are run only
+        // when the merge loses courses to the shared rooms
+        boolean runOrderings = true;
+        if (config.isDecomposeByComponents() && bestScheduledCount < targetCount) {
+            int[] componentOf = conflictGraph.components();
+            int componentCount = Arrays.stream(componentOf).max().orElse(0) + 1;
+
+            if (componentCount > 1) {
+                MergedComponents merged = solveByComponents(
+                    problem, conflictGraph, componentOf, componentCount, cancellation
+                );
+                int mergedCount = merged.result.scheduledCount();
+                listener.onStrategyEvaluated(COMPONENT_DECOMPOSITION, mergedCount, courses.size());
 
-        // Try each ordering and track the best result
-        int bestIndex = 0;
-        int bestScheduledCount = -1;
+                if (mergedCount > bestScheduledCount) {
+                    best = merged.result;
+                    bestScheduledCount = mergedCount;
+                    bestName = COMPONENT_DECOMPOSITION;
+                }
+                listener.onProgress(SchedulingListener.Phase.TIME_SLOT_ASSIGNMENT,
+                    mergedCount, bestScheduledCount, courses.size());
+                runOrderings = mergedCount < merged.componentScheduledCount;
+            }
+        }
 
-        for (int i = 0; i < orderings.size(); i++) {
-            ScheduleResult result = tryScheduleWithOrdering(
-                orderings.get(i), classrooms, examDays, config
+        // Try every ordering concurrently, then pick the best result in ordering order
+        // (the first ordering with the highest count wins, independent of timing)
+        if (runOrderings && bestScheduledCount < targetCount) {
+            List<Supplier<CourseSequence>> orderings = orderingsFor(problem, conflictGraph);
+            PhaseOneResult[] attempts = runOrderingsInParallel(orderings, problem, cancellation);
+
+            for (int i = 0; i < orderings.size(); i++) {
+                int scheduledCount = attempts[i].scheduledCount();
+                listener.onStrategyEvaluated(ORDERING_NAMES.get(i), scheduledCount, courses.size());
+
+                // Reuse the winning attempt's Phase 1 output; only Phase 2 is left to run
+                if (scheduledCount > bestScheduledCount) {
+                    bestScheduledCount = scheduledCount;
+                    best = attempts[i];
+                    bestName = ORDERING_NAMES.get(i);
+                }
+                listener.onProgress(SchedulingListener.Phase.TIME_SLOT_ASSIGNMENT,
+                    scheduledCount, bestScheduledCount, courses.size());
+            }
+        }
+
+        // Optional: randomized restarts, kept only if they beat the fixed orderings
+        if (config.getPortfolioRestarts() > 0 && bestScheduledCount < targetCount) {
+            PhaseOneResult restarted = runRandomizedRestarts(
+                problem, conflictGraph, config, targetCount, bestScheduledCount, cancellation
             );
-            int scheduledCount = courses.size() - result.getUnscheduledCourses().size();
+            listener.onStrategyEvaluated(RANDOMIZED_RESTARTS, restarted.scheduledCount(), courses.size());
+
+            if (restarted.scheduledCount() > bestScheduledCount) {
+                best = restarted;
+                bestName = RANDOMIZED_RESTARTS;
+            }
+        }
 
-            System.out.println("Strategy '" + orderingNames.get(i) + "': " +
-                scheduledCount + "/" + courses.size() + " courses scheduled");
+        listener.onStrategySelected(bestName, best.scheduledCount(), courses.size());
 
-            if (scheduledCount > bestScheduledCount) {
-                bestScheduledCount = scheduledCount;
-                bestIndex = i;
+        // Courses the pre-analysis ruled out keep its (more precise) reason
+        for (int course = 0; course < problem.courseCount(); course++) {
+            if (bounds.unschedulableReason(course) != null) {
+                best.failureReasons()[course] = bounds.unschedulableReason(course);
+            }
+        }
+        reportTimeSlots(best, problem, conflictGraph);
+
+        // Optional: search small instances exactly; a proven optimum needs no local search
+        if (config.getExactTimeLimitMillis() > 0 && problem.courseCount() < EXACT_SEARCH_MAX_COURSES
+                && best.scheduledCount() < targetCount) {
+            ExactSolver solver = new ExactSolver(problem, conflictGraph);
+            best = solveExactly(solver, best, problem, targetCount, config.getExactTimeLimitMillis(), cancellation);
+            if (solver.isOptimal()) {
+                targetCount = best.scheduledCount();
             }
         }
 
-        System.out.println("\nBest strategy: " + orderingNames.get(bestIndex) +
-            " (" + bestScheduledCount + "/" + courses.size() + " courses)");
+        // Optional: spend the configured time budget trying to fit the unscheduled courses
+        if (config.getImprovementTimeLimitMillis() > 0 && best.scheduledCount() < targetCount) {
+            best = improve(best, problem, conflictGraph, config.getImprovementTimeLimitMillis(), cancellation);
+        }
+        SlotPlacements placements = best.placements();
+
+        // PHASE 2: Classroom Assignment (only for final result)
+        RoomAssignments sessions = assignClassrooms(placements, problem, cancellation);
+
+        // Last chance to stop: decoding adds the sessions to the courses
+        cancellation.throwIfCancelled();
+
+        // Decode: the only place model objects are created
+        Map<LocalDate, List<ExamSession>> result = decodeSchedule(problem, placements, sessions);
+
+        return buildResult(result, problem, best.order(), placements, best.failureReasons());
+    }
+
+    /**
+     * Updates a schedule after the input was edited, without a full run.
+     * The delta is applied to the model first: removed students leave their
+     * courses and the changed durations are set on the courses.
+     *
+     * Every exam of the previous result keeps its start time when it still
+     * passes the Phase 1 checks. The unaffected exams are placed first; the exams
+     * the delta touched (a removed classroom, a changed duration) try their old
+     * start next, then the normal search, followed by the courses the previous
+     * result left unscheduled. Classrooms are assigned again for the whole
+     * schedule, so exams whose start group did not change keep their rooms.
+     *
+     * The config may differ from the previous run's: a kept exam is checked
+     * again against its daily limit, gaps and exam hours, and is planned again
+     * where its old start no longer passes.
+     *
+     * @param previousResult the schedule to update, generated for the same courses and dates
+     * @param delta the edits made since
+     * @param students all students (removed students may be left in or taken out)
+     * @param courses the courses of the previous run
+     * @param classrooms the available classrooms (removed classrooms may be left in or taken out)
+     * @param config scheduling configuration
+     * @param startDate the first exam day
+     * @param endDate the last exam day
+     * @return the updated schedule; the courses get its exam sessions instead of the previous ones
+     */
+    public ScheduleResult repair(
+            ScheduleResult previousResult,
+            ScheduleDelta delta,
+            List<Student> students,
+            List<Course> courses,
+            List<Classroom> classrooms,
+            ExamConfig config,
+            LocalDate startDate,
+            LocalDate endDate) {
+
+        return repair(previousResult, delta, students, courses, classrooms, config, startDate, endDate,
+            new CancellationToken());
+    }
+
+    /**
+     * Runs {@link #repair} on a background thread, like {@link #generateScheduleAsync}.
+     * A cancelled repair leaves the previous exam sessions on the courses, while
+     * the delta has already been applied to the model, so the previous result
+     * no longer matches it.
+     *
+     * @param cancellation lets the caller stop the repair
+     * @return the future repaired schedule
+     */
+    public CompletableFuture<ScheduleResult> repairAsync(
+            ScheduleResult previousResult,
+            ScheduleDelta delta,
+            List<Student> students,
+            List<Course> courses,
+            List<Classroom> classrooms,
+            ExamConfig config,
+            LocalDate startDate,
+            LocalDate endDate,
+            CancellationToken cancellation) {
 
-        // Run the winning strategy again with full Phase 2
-        System.out.println("\n=== Running Final Schedule with Best Strategy ===");
-        List<Course> bestOrdering = orderings.get(bestIndex);
-        Map<Course, SchedulingFailureReason> failureReasons = new HashMap<>();
+        return runAsync(
+            () -> repair(previousResult, delta, students, courses, classrooms, config, startDate, endDate,
+                cancellation),
+            cancellation);
+    }
 
-        List<TimeSlottedExam> timeSlottedExams = assignTimeSlots(
-            bestOrdering, classrooms, examDays, config, failureReasons
+    /**
+     * Same as {@link #repair(ScheduleResult, ScheduleDelta, List, List, List, ExamConfig, LocalDate, LocalDate)},
+     * but stops with a CancellationException once the token is cancelled.
+     */
+    public ScheduleResult repair(
+            ScheduleResult previousResult,
+            ScheduleDelta delta,
+            List<Student> students,
+            List<Course> courses,
+            List<Classroom> classrooms,
+            ExamConfig config,
+            LocalDate startDate,
+            LocalDate endDate,
+            CancellationToken cancellation) {
+
+        Set<Integer> removedStudents = delta.getRemovedStudentIds();
+        Set<Integer> removedRooms = delta.getRemovedClassroomIds();
+        List<Student> remainingStudents = new ArrayList<>(students);
+        remainingStudents.removeIf(s -> removedStudents.contains(s.getId()));
+        List<Classroom> remainingRooms = new ArrayList<>(classrooms);
+        remainingRooms.removeIf(c -> removedRooms.contains(c.getClassroomId()));
+
+        listener.onScheduleStart(config, remainingRooms);
+
+        applyCourseDurations(courses, config);
+        for (Course c : courses) {
+            c.getStudents().removeIf(s -> removedStudents.contains(s.getId()));
+            Integer d = delta.getCourseDurations().get(c.getCourseName());
+            if (d != null) c.setDurationMinutes(d);
+        }
+
+        List<LocalDate> examDays = buildDateRange(startDate, endDate);
+        if (examDays.isEmpty()) return new ScheduleResult(new LinkedHashMap<>(), new ArrayList<>());
+
+        SchedulingProblem problem = SchedulingProblem.compile(
+            remainingStudents, courses, remainingRooms, config, startDate, examDays.size()
         );
+        ConflictGraph conflictGraph = ConflictGraph.build(problem);
+
+        // Previous start of every course, and whether the delta invalidated its exam
+        int courseCount = problem.courseCount();
+        int[] previousStarts = new int[courseCount];
+        Arrays.fill(previousStarts, -1);
+        boolean[] affected = new boolean[courseCount];
+        List<ExamSession> previousSessions = new ArrayList<>();
+
+        for (List<ExamSession> daySessions : previousResult.getSchedule().values()) {
+            for (ExamSession session : daySessions) {
+                previousSessions.add(session);
+                int course = problem.courseId(session.getCourse());
+                if (course < 0) {
+                    continue;
+                }
+                previousStarts[course] = toPreferredStart(problem, course, session.getStartTime());
+                if (previousStarts[course] < 0) {
+                    continue;   // outside the (new) exam window: plan it again
+                }
+                affected[course] = session.getDurationMinutes() != problem.courseDuration(course);
+                for (ExamPartition partition : session.getPartitions()) {
+                    if (removedRooms.contains(partition.getClassroom().getClassroomId())) {
+                        affected[course] = true;
+                    }
+                }
+            }
+        }
 
-        // PHASE 2: Classroom Assignment (only for final result)
-        Map<LocalDate, List<ExamSession>> result = assignClassrooms(
-            timeSlottedExams, classrooms, config, 1, 1, 1
+        List<Integer> keptCourses = new ArrayList<>();
+        List<Integer> replannedCourses = new ArrayList<>();
+        for (int course : sortByConflicts(problem, conflictGraph)) {
+            if (previousStarts[course] >= 0 && !affected[course]) {
+                keptCourses.add(course);
+            } else {
+                replannedCourses.add(course);
+            }
+        }
+        // The touched exams before the courses the previous result could not place
+        replannedCourses.sort(Comparator.comparing(course -> previousStarts[course] < 0));
+
+        PhaseOneResult repaired = placeAtPreferredStarts(
+            problem, previousStarts, keptCourses, replannedCourses, cancellation
         );
+        listener.onProgress(SchedulingListener.Phase.TIME_SLOT_ASSIGNMENT,
+            repaired.scheduledCount(), repaired.scheduledCount(), courseCount);
+        listener.onStrategySelected(REPAIR, repaired.scheduledCount(), courseCount);
+        reportTimeSlots(repaired, problem, conflictGraph);
 
-        // Build final unscheduled list
-        Set<Course> scheduledCourses = new HashSet<>();
-        for (TimeSlottedExam exam : timeSlottedExams) {
-            scheduledCourses.add(exam.getCourse());
+        SlotPlacements placements = repaired.placements();
+        RoomAssignments sessions = assignClassrooms(placements, problem, cancellation);
+
+        // Last chance to stop: the previous sessions are replaced from here on
+        cancellation.throwIfCancelled();
+
+        for (ExamSession session : previousSessions) {
+            session.getCourse().getExamSessions().remove(session);
+        }
+        Map<LocalDate, List<ExamSession>> result = decodeSchedule(problem, placements, sessions);
+
+        return buildResult(result, problem, repaired.order(), placements, repaired.failureReasons());
+    }
+
+    /**
+     * Converts the warm-start seed of the config to start minutes. Seeded
+     * exams keep their day number within the exam period, counted from the
+     * seed's first day, and their time of day.
+     *
+     * @return per course id, the seeded start minute (-1 = none), or null if the config has no seed
+     */
+    private int[] seedStarts(SchedulingProblem problem, ExamConfig config, LocalDate startDate) {
+        Map<String, LocalDateTime> seed = config.getSeedStartTimes();
+        if (seed == null || seed.isEmpty()) {
+            return null;
+        }
+        long dayShift = config.getSeedFirstDay() == null
+            ? 0 : ChronoUnit.DAYS.between(config.getSeedFirstDay(), startDate);
+
+        int[] starts = new int[problem.courseCount()];
+        for (int course = 0; course < problem.courseCount(); course++) {
+            LocalDateTime seededStart = seed.get(problem.course(course).getCourseName());
+            starts[course] = seededStart == null ? -1 : toPreferredStart(problem, course, seededStart.plusDays(dayShift));
+        }
+        return starts;
+    }
+
+    /**
+     * @return the time as a start minute for the course, or -1 if an exam of the
+     *         course cannot start then (outside the horizon or the day's exam window)
+     */
+    private int toPreferredStart(SchedulingProblem problem, int course, LocalDateTime startTime) {
+        TimeHorizon horizon = problem.horizon();
+        int start = horizon.toMinute(startTime);
+        if (start < 0 || start >= horizon.lengthMinutes()
+                || start < horizon.examWindowStart(horizon.dayOf(start))
+                || horizon.exceedsDayBoundary(start, problem.courseDuration(course))) {
+            return -1;
+        }
+        return start;
+    }
+
+    /**
+     * Reports the pre-analysis: the upper bound and the courses that can never be scheduled.
+     */
+    private void reportBounds(ScheduleBounds bounds, SchedulingProblem problem) {
+        Map<Course, SchedulingFailureReason> unschedulable = new LinkedHashMap<>();
+        for (int course = 0; course < problem.courseCount(); course++) {
+            if (bounds.unschedulableReason(course) != null) {
+                unschedulable.put(problem.course(course), bounds.unschedulableReason(course));
+            }
+        }
+        listener.onBoundsComputed(bounds.upperBound(), problem.courseCount(), unschedulable);
+    }
+
+    /**
+     * Wraps the decoded schedule with the unscheduled courses (in scheduling order)
+     * and their failure reasons.
+     */
+    private ScheduleResult buildResult(
+            Map<LocalDate, List<ExamSession>> schedule,
+            SchedulingProblem problem,
+            int[] order,
+            SlotPlacements placements,
+            SchedulingFailureReason[] failureReasons) {
+
+        boolean[] scheduled = new boolean[problem.courseCount()];
+        for (int i = 0; i < placements.size(); i++) {
+            scheduled[placements.course(i)] = true;
         }
 
         List<Course> unscheduledCourses = new ArrayList<>();
-        for (Course course : bestOrdering) {
-            if (!scheduledCourses.contains(course)) {
-                unscheduledCourses.add(course);
+        Map<Course, SchedulingFailureReason> reasons = new HashMap<>();
+        for (int courseId : order) {
+            if (!scheduled[courseId]) {
+                unscheduledCourses.add(problem.course(courseId));
+                if (failureReasons[courseId] != null) {
+                    reasons.put(problem.course(courseId), failureReasons[courseId]);
+                }
             }
         }
 
-        System.out.println("=== Schedule Complete ===");
-        return new ScheduleResult(result, unscheduledCourses, failureReasons);
+        ScheduleResult result = new ScheduleResult(schedule, unscheduledCourses, reasons);
+        listener.onScheduleComplete(result);
+        return result;
     }
 
     /* ===================== DATA BUILD ===================== */
@@ -0,0 +1,98 @@
+package examschd.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import examschd.model.Classroom;
+import examschd.model.Course;
+import examschd.model.ExamConfig;
+import examschd.model.ScheduleResult;
+import examschd.model.SchedulingFailureReason;
+
+/**
+ * Receives progress events from the {@link Scheduler}.
+ * Every method has an empty default, so implementations only override the
+ * events they need. Events are delivered on the thread that called
+ * generateSchedule (a background thread for generateScheduleAsync), in
+ * scheduling order.
+ */
+public interface SchedulingListener {
+
+    /** Listener that ignores every event. */
+    SchedulingListener NONE = new SchedulingListener() {};
+
+    enum Phase {
+        TIME_SLOT_ASSIGNMENT,
+        EXACT_SEARCH,
+        IMPROVEMENT,
+        CLASSROOM_ASSIGNMENT
+    }
+
+    default void onScheduleStart(ExamConfig config, List<Classroom> classrooms) {}
+
+    /**
+     * The pre-analysis finished, before any strategy runs.
+     *
+     * @param upperBound the most courses any schedule can contain
+     * @param unschedulable courses that can never be scheduled, with the reason
+     */
+    default void onBoundsComputed(int upperBound, int courseCount,
+                                  Map<Course, SchedulingFailureReason> unschedulable) {}
+
+    /**
+     * Called once per ordering strategy, after all strategies have been evaluated.
+     */
+    default void onStrategyEvaluated(String strategyName, int scheduledCount, int courseCount) {}
+
+    default void onStrategySelected(String strategyName, int scheduledCount, int courseCount) {}
+
+    default void onPhaseStart(Phase phase) {}
+
+    /**
+     * @param completedCount exams time-slotted (Phase 1 and exact search), unscheduled exams
+     *                       fitted (improvement) or exams assigned to rooms (Phase 2)
+     * @param totalCount exams the phase started with (unscheduled exams for the improvement pass,
+     *                   the most exams still possible for the exact search: equal to
+     *                   completedCount when the result is proven optimal)
+     */
+    default void onPhaseEnd(Phase phase, int completedCount, int totalCount) {}
+
+    /**
+     * An exam got a time slot in Phase 1.
+     *
+     * @param newTimeSlot false when the exam was bin-packed into an existing start time
+     */
+    default void onExamTimeSlotted(Course course, LocalDateTime startTime, boolean newTimeSlot) {}
+
+    /**
+     * An exam could not be time-slotted in Phase 1.
+     *
+     * @param conflictingCourses number of courses sharing students with this one
+     * @param sharedEnrollments total number of enrollments shared with those courses
+     */
+    default void onExamUnscheduled(Course course, SchedulingFailureReason reason,
+                                   int conflictingCourses, int sharedEnrollments) {}
+
+    default void onRoomsAssigned(Course course, int roomCount) {}
+
+    /**
+     * Periodic progress, meant for progress bars. During time-slot assignment it
+     * follows every finished attempt (ordering, component merge, restart batch);
+     * the exact search and the improvement pass report once, classroom assignment after every exam.
+     *
+     * @param placedCount courses time-slotted by the latest attempt, or exams given
+     *                    rooms so far during classroom assignment
+     * @param bestCount best number of time-slotted courses so far, or the number of
+     *                  exams to give rooms during classroom assignment
+     * @param courseCount number of courses being scheduled
+     */
+    default void onProgress(Phase phase, int placedCount, int bestCount, int courseCount) {}
+
+    /**
+     * Phase 2 could not find rooms for an exam Phase 1 accepted (indicates a capacity tracking bug).
+     */
+    default void onRoomAssignmentFailed(Course course) {}
+
+    default void onScheduleComplete(ScheduleResult result) {}
+}
@@ -0,0 +1,504 @@
+package examschd.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import examschd.model.Classroom;
+import examschd.model.Course;
+import examschd.model.ExamConfig;
+import examschd.model.PinnedExam;
+import examschd.model.Student;
+
+/**
+ * Compiled, primitive-indexed form of one scheduling run's input.
+ * Courses, students and rooms get dense int ids (their position in the arrays
+ * below); enrollments are stored both ways in CSR (compressed sparse row) form:
+ * the students of course c are courseStudents[courseStudentOffsets[c] ..
+ * courseStudentOffsets[c + 1]), and likewise for the courses of a student.
+ *
+ * Every scheduling phase works on this structure. The model objects are only
+ * kept so the final result can be decoded back to ExamSession/ExamPartition.
+ */
+final class SchedulingProblem {
+
+    private final Course[] courses;
+    private final Student[] students;
+    private final Classroom[] rooms;
+    private final Map<Course, Integer> courseIds;
+
+    private final int[] courseStudentOffsets;
+    private final int[] courseStudents;
+    private final int[] studentCourseOffsets;
+    private final int[] studentCourses;
+    private final BitSet[] courseStudentMasks;
+
+    private final int[] courseDurations;
+    private final int[] roomCapacities;
+    private final int[] roomsByCapacity;
+    private final int totalRoomCapacity;
+
+    private final ExamConfig config;
+    private final TimeHorizon horizon;
+    private final StartTimeGrid startTimeGrid;
+    private final int maxExamsPerDay;
+    private final int roomTurnoverMinutes;
+    private final int studentGapMinutes;
+    private final boolean optimalRoomSelection;
+
+    // Pinned exams: course ids by start (largest first within a start), and per course
+    // the pinned start minute (-1 = not pinned) and fixed rooms (null = any rooms)
+    private final int[] pinnedCourses;
+    private final int[] pinnedStarts;
+    private final int[][] pinnedRooms;
+
+    private SchedulingProblem(Course[] courses, Student[] students, Classroom[] rooms,
+                              Map<Course, Integer> courseIds,
+                              int[] courseStudentOffsets, int[] courseStudents,
+                              int[] studentCourseOffsets, int[] studentCourses,
+                              BitSet[] courseStudentMasks, int[] courseDurations,
+                              int[] roomCapacities, int[] roomsByCapacity,
+                              TimeHorizon horizon, ExamConfig config, List<PinnedExam> pins) {
+        this.courses = courses;
+        this.students = students;
+        this.rooms = rooms;
+        this.courseIds = courseIds;
+        this.courseStudentOffsets = courseStudentOffsets;
+        this.courseStudents = courseStudents;
+        this.studentCourseOffsets = studentCourseOffsets;
+        this.studentCourses = studentCourses;
+        this.courseStudentMasks = courseStudentMasks;
+        this.courseDurations = courseDurations;
+        this.roomCapacities = roomCapacities;
+        this.roomsByCapacity = roomsByCapacity;
+        this.config = config;
+        this.horizon = horizon;
+        this.startTimeGrid = new StartTimeGrid(horizon, config.getStartTimeGranularityMinutes(), courseDurations);
+        this.maxExamsPerDay = config.getMaxExamsPerDay();
+        this.roomTurnoverMinutes = config.getRoomTurnoverMinutes();
+        this.studentGapMinutes = config.getStudentMinGapMinutes();
+        this.optimalRoomSelection = config.isOptimalRoomSelection();
+
+        int capacity = 0;
+        for (int roomCapacity : roomCapacities) {
+            capacity += roomCapacity;
+        }
+        this.totalRoomCapacity = capacity;
+
+        this.pinnedStarts = new int[courses.length];
+        Arrays.fill(pinnedStarts, -1);
+        this.pinnedRooms = new int[courses.length][];
+        this.pinnedCourses = compilePins(pins);
+    }
+
+    /**
+     * Resolves the pinned exams of the config to course ids, start minutes and room ids.
+     *
+     * @return the pinned course ids by start, largest exam first within a start
+     * @throws IllegalArgumentException if a pin names an unknown course or classroom,
+     *         its exam does not lie within the exam window of one of the exam days,
+     *         a course is pinned twice, or two pinned exams need the same classroom
+     *         at overlapping times (room turnover included)
+     */
+    private int[] compilePins(List<PinnedExam> pins) {
+        if (pins == null || pins.isEmpty()) {
+            return new int[0];
+        }
+        Map<String, Integer> courseByName = new HashMap<>();
+        for (int c = 0; c < courses.length; c++) {
+            courseByName.putIfAbsent(courses[c].getCourseName(), c);
+        }
+        Map<String, Integer> roomByName = new HashMap<>();
+        for (int r = 0; r < rooms.length; r++) {
+            roomByName.putIfAbsent(rooms[r].getName(), r);
+        }
+
+        List<Integer> pinned = new ArrayList<>();
+        for (PinnedExam pin : pins) {
+            Integer course = courseByName.get(pin.getCourseName());
+            if (course == null) {
+                throw new IllegalArgumentException("Pinned exam of unknown course: " + pin.getCourseName());
+            }
+            if (pinnedStarts[course] >= 0) {
+                throw new IllegalArgumentException("Course pinned more than once: " + pin.getCourseName());
+            }
+            int start = horizon.toMinute(pin.getStartTime());
+            if (start < 0 || start >= horizon.lengthMinutes()) {
+                throw new IllegalArgumentException("Pinned exam outside the exam days: " + pin);
+            }
+            if (start < horizon.examWindowStart(horizon.dayOf(start))
+                || horizon.exceedsDayBoundary(start, courseDurations[course])) {
+                throw new IllegalArgumentException("Pinned exam outside the daily exam window: " + pin);
+            }
+
+            int[] fixedRooms = null;
+            List<String> roomNames = pin.getClassroomNames();
+            if (roomNames != null && !roomNames.isEmpty()) {
+                fixedRooms = new int[roomNames.size()];
+                for (int i = 0; i < fixedRooms.length; i++) {
+                    Integer room = roomByName.get(roomNames.get(i));
+                    if (room == null) {
+                        throw new IllegalArgumentException("Pinned exam in unknown classroom: " + roomNames.get(i));
+                    }
+                    if (contains(fixedRooms, i, room)) {
+                        throw new IllegalArgumentException("Pinned exam lists a classroom twice: " + pin);
+                    }
+                    fixedRooms[i] = room;
+                }
+            }
+
+            pinned.add(course);
+            pinnedStarts[course] = start;
+            pinnedRooms[course] = fixedRooms;
+        }
+
+        pinned.sort((a, b) -> pinnedStarts[a] != pinnedStarts[b]
+            ? Integer.compare(pinnedStarts[a], pinnedStarts[b])
+            : Integer.compare(courseSize(b), courseSize(a)));
+        checkPinnedRooms(pinned);
+        return pinned.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Two pinned exams may share a fixed classroom only if one ends, plus the room
+     * turnover, before the other starts (the rule Phase 2 applies to every room).
+     *
+     * @param pinned the pinned course ids by start
+     */
+    private void checkPinnedRooms(List<Integer> pinned) {
+        for (int i = 0; i < pinned.size(); i++) {
+            int first = pinned.get(i);
+            if (pinnedRooms[first] == null) {
+                continue;
+            }
+            int firstEnd = pinnedStarts[first] + courseDurations[first];
+            for (int j = i + 1; j < pinned.size(); j++) {
+                int second = pinned.get(j);
+                if (pinnedStarts[second] > firstEnd + roomTurnoverMinutes) {
+                    break;
+                }
+                if (pinnedRooms[second] == null) {
+                    continue;
+                }
+                for (int room : pinnedRooms[second]) {
+                    if (contains(pinnedRooms[first], pinnedRooms[first].length, room)) {
+                        throw new IllegalArgumentException("Pinned exams " + courses[first].getCourseName()
+                            + " and " + courses[second].getCourseName() + " overlap in classroom "
+                            + rooms[room].getName());
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compiles the scheduler input. Enrollments are read from Course.getStudents(),
+     * so relationships and course durations must already be applied.
+     *
+     * @param students all students (students only reachable through a course are appended)
+     * @param courses the courses to schedule; course ids follow this order
+     * @param classrooms the available classrooms; room ids follow this order
+     * @param config scheduling configuration
+     * @param startDate the first exam day
+     * @param dayCount number of exam days
+     * @return the compiled problem
+     */
+    static SchedulingProblem compile(
+            List<Student> students,
+            List<Course> courses,
+            List<Classroom> classrooms,
+            ExamConfig config,
+            LocalDate startDate,
+            int dayCount) {
+
+        return compile(students, courses, classrooms, config, new TimeHorizon(startDate, dayCount, config),
+            config.getPinnedExams());
+    }
+
+    /**
+     * Compiles the same problem for a subset of its courses: the same rooms,
+     * horizon and rules, only the students of those courses and only their pinned
+     * exams. Course i of the result is course courseIds[i] of this problem.
+     *
+     * @param courseIds course ids of this problem, ascending
+     * @return the compiled sub-problem
+     */
+    SchedulingProblem restrict(int[] courseIds) {
+        List<Course> subset = new ArrayList<>(courseIds.length);
+        Set<String> names = new HashSet<>();
+        for (int course : courseIds) {
+            subset.add(courses[course]);
+            names.add(courses[course].getCourseName());
+        }
+        List<PinnedExam> pins = new ArrayList<>();
+        if (config.getPinnedExams() != null) {
+            for (PinnedExam pin : config.getPinnedExams()) {
+                if (names.contains(pin.getCourseName())) {
+                    pins.add(pin);
+                }
+            }
+        }
+        return compile(List.of(), subset, Arrays.asList(rooms), config, horizon, pins);
+    }
+
+    private static SchedulingProblem compile(
+            List<Student> students,
+            List<Course> courses,
+            List<Classroom> classrooms,
+            ExamConfig config,
+            TimeHorizon horizon,
+            List<PinnedExam> pins) {
+
+        Course[] courseArray = courses.toArray(new Course[0]);
+        Map<Course, Integer> courseIds = new HashMap<>();
+        for (int c = 0; c < courseArray.length; c++) {
+            courseIds.putIfAbsent(courseArray[c], c);
+        }
+
+        // Students have identity semantics
+        Map<Student, Integer> studentIds = new IdentityHashMap<>();
+        List<Student> studentList = new ArrayList<>();
+        for (Student student : students) {
+            if (studentIds.putIfAbsent(student, studentList.size()) == null) {
+                studentList.add(student);
+            }
+        }
+
+        // Course -> students CSR, in each course's enrollment order
+        int[] courseStudentOffsets = new int[courseArray.length + 1];
+        for (int c = 0; c < courseArray.length; c++) {
+            courseStudentOffsets[c + 1] = courseStudentOffsets[c] + courseArray[c].getStudents().size();
+        }
+        int[] courseStudents = new int[courseStudentOffsets[courseArray.length]];
+        BitSet[] courseStudentMasks = new BitSet[courseArray.length];
+        int[] courseDurations = new int[courseArray.length];
+        for (int c = 0; c < courseArray.length; c++) {
+            int position = courseStudentOffsets[c];
+            courseStudentMasks[c] = new BitSet();
+            for (Student student : courseArray[c].getStudents()) {
+                Integer id = studentIds.get(student);
+                if (id == null) {
+                    id = studentList.size();
+                    studentIds.put(student, id);
+                    studentList.add(student);
+                }
+                courseStudents[position++] = id;
+                courseStudentMasks[c].set(id);
+            }
+            courseDurations[c] = courseArray[c].getDurationMinutes();
+        }
+
+        // Student -> courses CSR (transpose), courses ascending per student
+        int studentCount = studentList.size();
+        int[] studentCourseOffsets = new int[studentCount + 1];
+        for (int id : courseStudents) {
+            studentCourseOffsets[id + 1]++;
+        }
+        for (int s = 0; s < studentCount; s++) {
+            studentCourseOffsets[s + 1] += studentCourseOffsets[s];
+        }
+        int[] studentCourses = new int[courseStudents.length];
+        int[] fill = new int[studentCount];
+        for (int c = 0; c < courseArray.length; c++) {
+            for (int k = courseStudentOffsets[c]; k < courseStudentOffsets[c + 1]; k++) {
+                int s = courseStudents[k];
+                studentCourses[studentCourseOffsets[s] + fill[s]++] = c;
+            }
+        }
+
+        // Rooms, plus their order from largest to smallest (stable for equal capacities)
+        Classroom[] roomArray = classrooms.toArray(new Classroom[0]);
+        int[] roomCapacities = new int[roomArray.length];
+        Integer[] order = new Integer[roomArray.length];
+        for (int r = 0; r < roomArray.length; r++) {
+            roomCapacities[r] = roomArray[r].getCapacity();
+            order[r] = r;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(roomCapacities[b], roomCapacities[a]));
+        int[] roomsByCapacity = new int[roomArray.length];
+        for (int r = 0; r < roomArray.length; r++) {
+            roomsByCapacity[r] = order[r];
+        }
+
+        return new SchedulingProblem(
+            courseArray, studentList.toArray(new Student[0]), roomArray, courseIds,
+            courseStudentOffsets, courseStudents, studentCourseOffsets, studentCourses,
+            courseStudentMasks, courseDurations, roomCapacities, roomsByCapacity,
+            horizon, config, pins
+        );
+    }
+
+    /* ===================== COURSES ===================== */
+
+    int courseCount() {
+        return courses.length;
+    }
+
+    Course course(int course) {
+        return courses[course];
+    }
+
+    /**
+     * @return the dense id of the course, or -1 if it is not part of this problem
+     */
+    int courseId(Course course) {
+        Integer id = courseIds.get(course);
+        return id == null ? -1 : id;
+    }
+
+    int courseSize(int course) {
+        return courseStudentOffsets[course + 1] - courseStudentOffsets[course];
+    }
+
+    int courseDuration(int course) {
+        return courseDurations[course];
+    }
+
+    /**
+     * The students of course c are courseStudents()[courseStudentStart(c) .. courseStudentEnd(c)).
+     */
+    int[] courseStudents() {
+        return courseStudents;
+    }
+
+    int courseStudentStart(int course) {
+        return courseStudentOffsets[course];
+    }
+
+    int courseStudentEnd(int course) {
+        return courseStudentOffsets[course + 1];
+    }
+
+    /**
+     * @return the course's students as a bitset of student ids (shared, do not modify)
+     */
+    BitSet courseStudentMask(int course) {
+        return courseStudentMasks[course];
+    }
+
+    /* ===================== STUDENTS ===================== */
+
+    int studentCount() {
+        return students.length;
+    }
+
+    Student student(int student) {
+        return students[student];
+    }
+
+    /**
+     * The courses of student s are studentCourses()[studentCourseStart(s) .. studentCourseEnd(s)).
+     */
+    int[] studentCourses() {
+        return studentCourses;
+    }
+
+    int studentCourseStart(int student) {
+        return studentCourseOffsets[student];
+    }
+
+    int studentCourseEnd(int student) {
+        return studentCourseOffsets[student + 1];
+    }
+
+    /* ===================== ROOMS ===================== */
+
+    int roomCount() {
+        return rooms.length;
+    }
+
+    Classroom room(int room) {
+        return rooms[room];
+    }
+
+    int roomCapacity(int room) {
+        return roomCapacities[room];
+    }
+
+    int totalRoomCapacity() {
+        return totalRoomCapacity;
+    }
+
+    /**
+     * @return room ids from largest to smallest capacity (shared, do not modify)
+     */
+    int[] roomsByCapacity() {
+        return roomsByCapacity;
+    }
+
+    /* ===================== PINNED EXAMS ===================== */
+
+    /**
+     * @return the pinned course ids by start, largest exam first within a start (shared, do not modify)
+     */
+    int[] pinnedCourses() {
+        return pinnedCourses;
+    }
+
+    boolean isPinned(int course) {
+        return pinnedStarts[course] >= 0;
+    }
+
+    /**
+     * @return the pinned start minute of the course, or -1 if it is not pinned
+     */
+    int pinnedStart(int course) {
+        return pinnedStarts[course];
+    }
+
+    /**
+     * @return the rooms the pinned exam must use (shared, do not modify), or null if the scheduler picks them
+     */
+    int[] pinnedRooms(int course) {
+        return pinnedRooms[course];
+    }
+
+    /* ===================== CONFIG ===================== */
+
+    TimeHorizon horizon() {
+        return horizon;
+    }
+
+    /**
+     * @return the start times new exams may open at
+     */
+    StartTimeGrid startTimeGrid() {
+        return startTimeGrid;
+    }
+
+    int maxExamsPerDay() {
+        return maxExamsPerDay;
+    }
+
+    int roomTurnoverMinutes() {
+        return roomTurnoverMinutes;
+    }
+
+    int studentGapMinutes() {
+        return studentGapMinutes;
+    }
+
+    /**
+     * @return true to seat exams in the rooms with the least waste ({@link RoomCombinations}),
+     *         false for the largest free rooms first
+     */
+    boolean optimalRoomSelection() {
+        return optimalRoomSelection;
+    }
+}
@@ -0,0 +1,49 @@
+package examschd.service;
+
+import java.util.BitSet;
+
+/**
+ * Tracks which students are already sitting an exam that starts at a given time.
+ * Phase 1 uses it for the bin-packing student check: a course can join an
+ * existing start time only if none of its students are busy there, which is a
+ * single bitset intersection instead of a scan over every scheduled exam.
+ *
+ * Start times are {@link TimeHorizon} minutes; student bits are the dense
+ * student ids of the {@link SchedulingProblem}.
+ */
+final class SlotOccupancyIndex {
+
+    private final BitSet[] busyStudentsByStart;
+
+    SlotOccupancyIndex(int horizonMinutes) {
+        this.busyStudentsByStart = new BitSet[horizonMinutes];
+    }
+
+    /**
+     * @return true if any of the given students already has an exam starting at this minute
+     */
+    boolean hasConflict(int startMinute, BitSet students) {
+        BitSet busy = busyStudentsByStart[startMinute];
+        return busy != null && busy.intersects(students);
+    }
+
+    /**
+     * Marks the given students as busy at this start minute. Called when an exam is placed.
+     */
+    void occupy(int startMinute, BitSet students) {
+        if (busyStudentsByStart[startMinute] == null) {
+            busyStudentsByStart[startMinute] = new BitSet();
+        }
+        busyStudentsByStart[startMinute].or(students);
+    }
+
+    /**
+     * Frees the given students at this start minute. Called when an exam is moved away;
+     * exams at the same start never share students, so no other exam's bits are cleared.
+     */
+    void release(int startMinute, BitSet students) {
+        if (busyStudentsByStart[startMinute] != null) {
+            busyStudentsByStart[startMinute].andNot(students);
+        }
+    }
+}
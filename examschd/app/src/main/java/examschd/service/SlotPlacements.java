@@ -0,0 +1,49 @@
+package examschd.service;
+
+/**
+ * The exams placed so far by Phase 1, kept as parallel int arrays in placement order.
+ * Courses are {@link SchedulingProblem} ids and times are {@link TimeHorizon} minutes.
+ */
+final class SlotPlacements {
+
+    private final int[] courses;
+    private final int[] startMinutes;
+    private final int[] endMinutes;
+    private final int[] studentCounts;
+    private int size;
+
+    SlotPlacements(int capacity) {
+        this.courses = new int[capacity];
+        this.startMinutes = new int[capacity];
+        this.endMinutes = new int[capacity];
+        this.studentCounts = new int[capacity];
+    }
+
+    void add(int course, int startMinute, int endMinute, int studentCount) {
+        courses[size] = course;
+        startMinutes[size] = startMinute;
+        endMinutes[size] = endMinute;
+        studentCounts[size] = studentCount;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int course(int placement) {
+        return courses[placement];
+    }
+
+    int startMinute(int placement) {
+        return startMinutes[placement];
+    }
+
+    int endMinute(int placement) {
+        return endMinutes[placement];
+    }
+
+    int studentCount(int placement) {
+        return studentCounts[placement];
+    }
+}
@@ -0,0 +1,118 @@
+package examschd.service;
+
+/**
+ * The start times Phase 1 may open new exams at, built once per run.
+ * Every day's exam window is cut into slots of the configured granularity
+ * (window start, + granularity, ... before the window end); slot ids number
+ * them day after day, so slot s is on day s / slotsPerDay.
+ *
+ * For every course the grid also knows how many of a day's slots leave room
+ * for its exam before the window closes: those are always the first ones of
+ * the day, so iterating a course's candidate starts is a loop over int ids
+ * with no boundary check and no allocation.
+ *
+ * Immutable, shared by the concurrent attempts of a run.
+ */
+final class StartTimeGrid {
+
+    static final int DEFAULT_GRANULARITY_MINUTES = 30;
+
+    private final int dayCount;
+    private final int slotsPerDay;
+    private final int[] starts;
+    // fittingSlots[course] = slots of each day an exam of the course can start at
+    private final int[] fittingSlots;
+
+    /**
+     * @param granularityMinutes minutes between two slots (non-positive values use the default)
+     * @param courseDurations exam duration of every course id
+     */
+    StartTimeGrid(TimeHorizon horizon, int granularityMinutes, int[] courseDurations) {
+        int step = granularityMinutes > 0 ? granularityMinutes : DEFAULT_GRANULARITY_MINUTES;
+        int windowMinutes = horizon.dayCount() == 0 ? 0 : horizon.examWindowEnd(0) - horizon.examWindowStart(0);
+
+        this.dayCount = horizon.dayCount();
+        this.slotsPerDay = windowMinutes <= 0 ? 0 : (windowMinutes + step - 1) / step;
+        this.starts = new int[dayCount * slotsPerDay];
+        for (int day = 0; day < dayCount; day++) {
+            for (int i = 0; i < slotsPerDay; i++) {
+                starts[day * slotsPerDay + i] = horizon.examWindowStart(day) + i * step;
+            }
+        }
+
+        // A slot fits when start + duration <= window end, i.e. i * step <= window - duration
+        this.fittingSlots = new int[courseDurations.length];
+        for (int course = 0; course < courseDurations.length; course++) {
+            int slack = windowMinutes - courseDurations[course];
+            fittingSlots[course] = slack < 0 ? 0 : Math.min(slotsPerDay, slack / step + 1);
+        }
+    }
+
+    int dayCount() {
+        return dayCount;
+    }
+
+    int slotsPerDay() {
+        return slotsPerDay;
+    }
+
+    /**
+     * @return the number of slots over all days
+     */
+    int slotCount() {
+        return starts.length;
+    }
+
+    /**
+     * @return the start minute of a slot ({@link TimeHorizon} minutes)
+     */
+    int start(int slot) {
+        return starts[slot];
+    }
+
+    /**
+     * @return the first slot of the day
+     */
+    int firstSlot(int day) {
+        return day * slotsPerDay;
+    }
+
+    /**
+     * @return the number of slots of each day, counted from the first, an exam of the course can start at
+     */
+    int fittingSlotsPerDay(int course) {
+        return fittingSlots[course];
+    }
+
+    /**
+     * @return true if an exam of the course starting at this slot ends within the day's window
+     */
+    boolean fits(int course, int slot) {
+        return slot % slotsPerDay < fittingSlots[course];
+    }
+
+    /**
+     * @return the slot starting at this minute, or -1 if it is not on the grid
+     */
+    int slotAt(int startMinute) {
+        int slot = firstSlotAtOrAfter(startMinute);
+        return slot < starts.length && starts[slot] == startMinute ? slot : -1;
+    }
+
+    /**
+     * @return the first slot starting at or after this minute, or slotCount() if there is none
+     */
+    int firstSlotAtOrAfter(int minute) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,230 @@
+package examschd.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-start-time room ledger used by the Phase 1 capacity check.
+ * Exams that share a start time are given rooms largest exam first, each
+ * taking the largest rooms still free. For every start minute the ledger keeps
+ * the committed exam sizes in descending order and their total, so checking a
+ * candidate is a walk over the committed exams with one binary search over the
+ * room capacity prefix sums per exam, and nothing is copied or sorted.
+ *
+ * With optimal room selection each exam takes the {@link RoomCombinations}
+ * choice among the rooms still free instead, replayed over the committed exams.
+ *
+ * The fixed rooms of pinned exams are reserved at their start minute: the
+ * exams committed there only share the rooms left.
+ *
+ * Start times are {@link TimeHorizon} minutes; rooms follow the capacity-descending
+ * order of the {@link SchedulingProblem}.
+ */
+final class StartTimeRoomLedger {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    // capacityPrefix[k] = total capacity of the k largest rooms
+    private final int[] capacityPrefix;
+    private final int[][] examSizesByStart;
+    private final int[] examCounts;
+    private final int[] committedStudents;
+    private final RoomCombinations combinations; // null for largest rooms first
+
+    // Per start minute with reserved rooms: the reserved room ids, and the capacity
+    // prefix sums (or free room multiset) of the rooms left; empty without pinned rooms
+    private final SchedulingProblem problem;
+    private final Map<Integer, boolean[]> reservedRooms = new HashMap<>();
+    private final Map<Integer, int[]> freeCapacityPrefix = new HashMap<>();
+    private final Map<Integer, int[]> freeRoomCounts = new HashMap<>();
+
+    StartTimeRoomLedger(SchedulingProblem problem) {
+        this.problem = problem;
+        int[] roomsByCapacity = problem.roomsByCapacity();
+        this.capacityPrefix = new int[roomsByCapacity.length + 1];
+        for (int k = 0; k < roomsByCapacity.length; k++) {
+            capacityPrefix[k + 1] = capacityPrefix[k] + problem.roomCapacity(roomsByCapacity[k]);
+        }
+
+        int horizonMinutes = problem.horizon().lengthMinutes();
+        this.examSizesByStart = new int[horizonMinutes][];
+        this.examCounts = new int[horizonMinutes];
+        this.committedStudents = new int[horizonMinutes];
+        this.combinations = problem.optimalRoomSelection() ? new RoomCombinations(problem) : null;
+    }
+
+    /**
+     * @return the seats taken at this start minute: the students of all exams
+     *         committed there plus the capacity of the reserved rooms
+     */
+    int committedStudents(int startMinute) {
+        return committedStudents[startMinute];
+    }
+
+    /**
+     * @return true if every exam at this start minute, plus the candidate, still gets its rooms
+     */
+    boolean canFit(int startMinute, int candidateStudentCount) {
+        if (combinations != null) {
+            return canFitCombined(startMinute, candidateStudentCount);
+        }
+        int[] sizes = examSizesByStart[startMinute];
+        int count = examCounts[startMinute];
+        int[] prefix = reservedRooms.isEmpty()
+            ? capacityPrefix : freeCapacityPrefix.getOrDefault(startMinute, capacityPrefix);
+        int nextRoom = 0;
+        boolean candidatePending = true;
+
+        for (int i = 0; i < count; i++) {
+            if (candidatePending && sizes[i] < candidateStudentCount) {
+                nextRoom = allocate(prefix, nextRoom, candidateStudentCount);
+                if (nextRoom < 0) {
+                    return false;
+                }
+                candidatePending = false;
+            }
+            nextRoom = allocate(prefix, nextRoom, sizes[i]);
+            if (nextRoom < 0) {
+                return false;
+            }
+        }
+        return !candidatePending || allocate(prefix, nextRoom, candidateStudentCount) >= 0;
+    }
+
+    /**
+     * {@link #canFit} for optimal room selection.
+     */
+    private boolean canFitCombined(int startMinute, int candidateStudentCount) {
+        int[] sizes = examSizesByStart[startMinute];
+        int count = examCounts[startMinute];
+        int[] reservedFree = reservedRooms.isEmpty() ? null : freeRoomCounts.get(startMinute);
+        int[] free = reservedFree == null ? combinations.allRooms() : reservedFree.clone();
+        boolean candidatePending = true;
+
+        for (int i = 0; i < count; i++) {
+            if (candidatePending && sizes[i] < candidateStudentCount) {
+                if (!take(free, candidateStudentCount)) {
+                    return false;
+                }
+                candidatePending = false;
+            }
+            if (!take(free, sizes[i])) {
+                return false;
+            }
+        }
+        return !candidatePending || take(free, candidateStudentCount);
+    }
+
+    /**
+     * Removes the rooms chosen for an exam from the free multiset.
+     *
+     * @return false if the free rooms cannot seat the exam
+     */
+    private boolean take(int[] free, int studentCount) {
+        int[] taken = combinations.select(free, studentCount);
+        if (taken == null) {
+            return false;
+        }
+        for (int k = 0; k < free.length; k++) {
+            free[k] -= taken[k];
+        }
+        return true;
+    }
+
+    /**
+     * Records an exam that has been placed at this start minute.
+     */
+    void commit(int startMinute, int studentCount) {
+        int count = examCounts[startMinute];
+        if (examSizesByStart[startMinute] == null) {
+            examSizesByStart[startMinute] = new int[INITIAL_CAPACITY];
+        } else if (count == examSizesByStart[startMinute].length) {
+            examSizesByStart[startMinute] = Arrays.copyOf(examSizesByStart[startMinute], count * 2);
+        }
+
+        int[] sizes = examSizesByStart[startMinute];
+        int position = count;
+        while (position > 0 && sizes[position - 1] < studentCount) {
+            position--;
+        }
+        System.arraycopy(sizes, position, sizes, position + 1, count - position);
+        sizes[position] = studentCount;
+        examCounts[startMinute]++;
+        committedStudents[startMinute] += studentCount;
+    }
+
+    /**
+     * Takes fixed rooms out of this start minute for good, e.g. the rooms of a pinned exam.
+     */
+    void reserve(int startMinute, int[] rooms) {
+        boolean[] reserved = reservedRooms.computeIfAbsent(startMinute, k -> new boolean[problem.roomCount()]);
+        for (int room : rooms) {
+            if (!reserved[room]) {
+                reserved[room] = true;
+                committedStudents[startMinute] += problem.roomCapacity(room);
+            }
+        }
+
+        // Rebuild what is left for the other exams at this start, largest first as before
+        int[] roomsByCapacity = problem.roomsByCapacity();
+        int[] freeRooms = new int[roomsByCapacity.length];
+        int[] prefix = new int[roomsByCapacity.length + 1];
+        int freeCount = 0;
+        for (int room : roomsByCapacity) {
+            if (!reserved[room]) {
+                prefix[freeCount + 1] = prefix[freeCount] + problem.roomCapacity(room);
+                freeRooms[freeCount++] = room;
+            }
+        }
+        freeCapacityPrefix.put(startMinute, Arrays.copyOf(prefix, freeCount + 1));
+        if (combinations != null) {
+            freeRoomCounts.put(startMinute, combinations.multisetOf(freeRooms, 0, freeCount));
+        }
+    }
+
+    /**
+     * Takes back an exam that has been moved away from this start minute.
+     */
+    void release(int startMinute, int studentCount) {
+        int[] sizes = examSizesByStart[startMinute];
+        int count = examCounts[startMinute];
+        int position = 0;
+        while (sizes[position] != studentCount) {
+            position++;
+        }
+        System.arraycopy(sizes, position + 1, sizes, position, count - position - 1);
+        examCounts[startMinute]--;
+        committedStudents[startMinute] -= studentCount;
+    }
+
+    /**
+     * Takes the largest free rooms, starting at nextRoom, until studentCount seats are covered.
+     *
+     * @param prefix capacity prefix sums of the rooms available at the start
+     * @return the first room left free afterwards, or -1 if the rooms run out
+     */
+    private int allocate(int[] prefix, int nextRoom, int studentCount) {
+        if (studentCount <= 0) {
+            return nextRoom;
+        }
+        int needed = prefix[nextRoom] + studentCount;
+        int roomCount = prefix.length - 1;
+        if (prefix[roomCount] < needed) {
+            return -1;
+        }
+
+        // Smallest k with prefix[k] >= needed
+        int low = nextRoom + 1;
+        int high = roomCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prefix[mid] < needed) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
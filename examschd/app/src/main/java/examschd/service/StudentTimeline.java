@@ -0,0 +1,104 @@
+package examschd.service;
+
+import java.util.Arrays;
+
+/**
+ * Per-student exam timeline used for the minimum-gap check.
+ * Each student keeps two compact sorted int arrays: the start and the end
+ * minute offsets of the exams already placed for them.
+ *
+ * A candidate [start, end) conflicts with an existing exam [a, b) when
+ * a < end + gap and b > start - gap. Every exam with b <= start - gap also
+ * has a < end + gap, so the number of conflicting exams is
+ * count(a < end + gap) - count(b <= start - gap): two binary searches and no
+ * allocation, even if a student's exams happen to overlap each other.
+ *
+ * Student indexes are the dense student ids of the {@link SchedulingProblem}.
+ */
+final class StudentTimeline {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final int[][] starts;
+    private final int[][] ends;
+    private final int[] sizes;
+
+    StudentTimeline(int studentCount) {
+        this.starts = new int[studentCount][];
+        this.ends = new int[studentCount][];
+        this.sizes = new int[studentCount];
+    }
+
+    /**
+     * @return true if the student has an exam within gapMinutes of [startMinute, endMinute)
+     */
+    boolean conflicts(int student, int startMinute, int endMinute, int gapMinutes) {
+        int size = sizes[student];
+        if (size == 0) {
+            return false;
+        }
+        int startsBeforeWindowEnd = countBelow(starts[student], size, endMinute + gapMinutes);
+        int endsBeforeWindowStart = countBelow(ends[student], size, startMinute - gapMinutes + 1);
+        return startsBeforeWindowEnd > endsBeforeWindowStart;
+    }
+
+    /**
+     * Adds the exam [startMinute, endMinute) to the timeline of each of students[from, to).
+     */
+    void add(int[] students, int from, int to, int startMinute, int endMinute) {
+        for (int k = from; k < to; k++) {
+            int student = students[k];
+            if (starts[student] == null) {
+                starts[student] = new int[INITIAL_CAPACITY];
+                ends[student] = new int[INITIAL_CAPACITY];
+            } else if (sizes[student] == starts[student].length) {
+                starts[student] = Arrays.copyOf(starts[student], sizes[student] * 2);
+                ends[student] = Arrays.copyOf(ends[student], sizes[student] * 2);
+            }
+            insertSorted(starts[student], sizes[student], startMinute);
+            insertSorted(ends[student], sizes[student], endMinute);
+            sizes[student]++;
+        }
+    }
+
+    /**
+     * Removes the exam [startMinute, endMinute) from the timeline of each of students[from, to).
+     * The start and end arrays are independent sorted lists, so one matching value is removed from each.
+     */
+    void remove(int[] students, int from, int to, int startMinute, int endMinute) {
+        for (int k = from; k < to; k++) {
+            int student = students[k];
+            removeSorted(starts[student], sizes[student], startMinute);
+            removeSorted(ends[student], sizes[student], endMinute);
+            sizes[student]--;
+        }
+    }
+
+    /**
+     * @return the number of values strictly below the limit in values[0, size)
+     */
+    private static int countBelow(int[] values, int size, int limit) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < limit) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void insertSorted(int[] values, int size, int value) {
+        int position = countBelow(values, size, value);
+        System.arraycopy(values, position, values, position + 1, size - position);
+        values[position] = value;
+    }
+
+    private static void removeSorted(int[] values, int size, int value) {
+        int position = countBelow(values, size, value);
+        System.arraycopy(values, position + 1, values, position, size - position - 1);
+    }
+}
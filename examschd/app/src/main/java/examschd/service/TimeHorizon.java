@@ -0,0 +1,75 @@
+package examschd.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import examschd.model.ExamConfig;
+
+/**
+ * Integer time encoding used inside the scheduling engine.
+ * Every time is stored as the number of minutes since midnight of the first
+ * exam day, so the hot loops compare and add plain ints instead of creating
+ * LocalDateTime objects. LocalDateTime only appears at the boundary, when
+ * ExamSession objects are built.
+ */
+final class TimeHorizon {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final LocalDateTime origin;
+    private final int dayCount;
+    private final int examStartMinuteOfDay;
+    private final int examEndMinuteOfDay;
+
+    TimeHorizon(LocalDate startDate, int dayCount, ExamConfig config) {
+        this.origin = startDate.atStartOfDay();
+        this.dayCount = dayCount;
+        this.examStartMinuteOfDay = config.getExamStartHour() * 60;
+        this.examEndMinuteOfDay = config.getExamEndHour() * 60;
+    }
+
+    int dayCount() {
+        return dayCount;
+    }
+
+    /**
+     * @return the number of minutes covered by the horizon (whole days)
+     */
+    int lengthMinutes() {
+        return dayCount * MINUTES_PER_DAY;
+    }
+
+    int toMinute(LocalDateTime time) {
+        return (int) ChronoUnit.MINUTES.between(origin, time);
+    }
+
+    LocalDateTime toDateTime(int minute) {
+        return origin.plusMinutes(minute);
+    }
+
+    int dayOf(int minute) {
+        return minute / MINUTES_PER_DAY;
+    }
+
+    /**
+     * @return the first minute of the exam window on the given day
+     */
+    int examWindowStart(int day) {
+        return day * MINUTES_PER_DAY + examStartMinuteOfDay;
+    }
+
+    /**
+     * @return the end of the exam window on the given day (exams must finish by then)
+     */
+    int examWindowEnd(int day) {
+        return day * MINUTES_PER_DAY + examEndMinuteOfDay;
+    }
+
+    /**
+     * @return true if an exam starting at this minute would end after the exam window closes
+     */
+    boolean exceedsDayBoundary(int startMinute, int durationMinutes) {
+        return startMinute + durationMinutes > examWindowEnd(dayOf(startMinute));
+    }
+}
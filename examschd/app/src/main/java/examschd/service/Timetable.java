@@ -0,0 +1,201 @@
+package examschd.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+
+import examschd.model.SchedulingFailureReason;
+
+/**
+ * A mutable Phase 1 solution for the searches that move exams around after (or
+ * instead of) the greedy pass: the start time of every course plus the same
+ * occupancy indexes Phase 1 uses, kept in sync so a placement can be checked,
+ * made and undone incrementally.
+ *
+ * Placements are checked with the Phase 1 Strategy 2 rules (gap, daily limit
+ * and the pooled room capacity), so Phase 2 can assign rooms to the result as usual.
+ */
+final class Timetable {
+
+    private final SchedulingProblem problem;
+    private final TimeHorizon horizon;
+    private final int[] students;
+    private final int[] candidateStarts;
+    private final int maxDuration;
+
+    private final int[] startOf;
+    private final SlotOccupancyIndex slotOccupancy;
+    private final DailyExamCounter dailyExams;
+    private final StudentTimeline studentTimeline;
+    private final StartTimeRoomLedger roomLedger;
+    private final NavigableMap<Integer, List<Integer>> coursesByStart = new TreeMap<>();
+
+    Timetable(SchedulingProblem problem) {
+        this.problem = problem;
+        this.horizon = problem.horizon();
+        this.students = problem.courseStudents();
+
+        // Same start-time grid Phase 1 uses for new time slots
+        StartTimeGrid grid = problem.startTimeGrid();
+        this.candidateStarts = new int[grid.slotCount()];
+        for (int slot = 0; slot < grid.slotCount(); slot++) {
+            candidateStarts[slot] = grid.start(slot);
+        }
+
+        int longest = 0;
+        for (int course = 0; course < problem.courseCount(); course++) {
+            longest = Math.max(longest, problem.courseDuration(course));
+        }
+        this.maxDuration = longest;
+
+        this.startOf = new int[problem.courseCount()];
+        Arrays.fill(startOf, -1);
+        this.slotOccupancy = new SlotOccupancyIndex(horizon.lengthMinutes());
+        this.dailyExams = new DailyExamCounter(problem.studentCount(), horizon.dayCount());
+        this.studentTimeline = new StudentTimeline(problem.studentCount());
+        this.roomLedger = new StartTimeRoomLedger(problem);
+    }
+
+    /**
+     * @return every start time a new exam may use, ascending (shared, do not modify)
+     */
+    int[] candidateStarts() {
+        return candidateStarts;
+    }
+
+    /**
+     * @return the start minute of every course, -1 when unplaced (shared, do not modify)
+     */
+    int[] startOf() {
+        return startOf;
+    }
+
+    /**
+     * @return the start times that currently hold at least one exam, ascending
+     */
+    NavigableSet<Integer> usedStarts() {
+        return coursesByStart.navigableKeySet();
+    }
+
+    /**
+     * Checks one placement against the current solution, in the Phase 1 Strategy 2 order.
+     *
+     * @return null if the course fits at this start, otherwise the reason it does not
+     */
+    SchedulingFailureReason check(int course, int startMinute) {
+        int duration = problem.courseDuration(course);
+        int endMinute = startMinute + duration;
+        if (horizon.exceedsDayBoundary(startMinute, duration)) {
+            return SchedulingFailureReason.NO_AVAILABLE_SLOTS;
+        }
+        if (slotOccupancy.hasConflict(startMinute, problem.courseStudentMask(course))) {
+            return SchedulingFailureReason.STUDENT_CONFLICT;
+        }
+
+        int day = horizon.dayOf(startMinute);
+        for (int k = problem.courseStudentStart(course); k < problem.courseStudentEnd(course); k++) {
+            if (studentTimeline.conflicts(students[k], startMinute, endMinute, problem.studentGapMinutes())) {
+                return SchedulingFailureReason.STUDENT_CONFLICT;
+            }
+            if (dailyExams.count(students[k], day) >= problem.maxExamsPerDay()) {
+                return SchedulingFailureReason.MAX_EXAMS_PER_DAY_EXCEEDED;
+            }
+        }
+
+        int studentCount = problem.courseSize(course);
+        if (overlapsOtherStart(startMinute, endMinute)
+                || !roomLedger.canFit(startMinute, studentCount)
+                || problem.totalRoomCapacity() - roomLedger.committedStudents(startMinute) < studentCount) {
+            return SchedulingFailureReason.CLASSROOM_CAPACITY_INSUFFICIENT;
+        }
+        return null;
+    }
+
+    /**
+     * Phase 1 room rule: an exam may not overlap (with turnover) any exam at a different start.
+     */
+    private boolean overlapsOtherStart(int startMinute, int endMinute) {
+        int turnover = problem.roomTurnoverMinutes();
+        int endWithTurnover = endMinute + turnover;
+        for (Map.Entry<Integer, List<Integer>> entry
+                : coursesByStart.subMap(startMinute - maxDuration - turnover, true, endWithTurnover, true).entrySet()) {
+            int otherStart = entry.getKey();
+            if (otherStart == startMinute) {
+                continue;
+            }
+            for (int other : entry.getValue()) {
+                if (endWithTurnover >= otherStart && otherStart + problem.courseDuration(other) + turnover >= startMinute) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    void place(int course, int startMinute) {
+        int from = problem.courseStudentStart(course);
+        int to = problem.courseStudentEnd(course);
+        startOf[course] = startMinute;
+        slotOccupancy.occupy(startMinute, problem.courseStudentMask(course));
+        dailyExams.record(students, from, to, horizon.dayOf(startMinute));
+        studentTimeline.add(students, from, to, startMinute, startMinute + problem.courseDuration(course));
+        if (problem.pinnedRooms(course) != null) {
+            roomLedger.reserve(startMinute, problem.pinnedRooms(course));
+        } else {
+            roomLedger.commit(startMinute, problem.courseSize(course));
+        }
+        coursesByStart.computeIfAbsent(startMinute, k -> new ArrayList<>()).add(course);
+    }
+
+    /**
+     * Takes a placed exam out again. Pinned exams are never removed.
+     */
+    void remove(int course) {
+        int startMinute = startOf[course];
+        int from = problem.courseStudentStart(course);
+        int to = problem.courseStudentEnd(course);
+        startOf[course] = -1;
+        slotOccupancy.release(startMinute, problem.courseStudentMask(course));
+        dailyExams.remove(students, from, to, horizon.dayOf(startMinute));
+        studentTimeline.remove(students, from, to, startMinute, startMinute + problem.courseDuration(course));
+        roomLedger.release(startMinute, problem.courseSize(course));
+
+        List<Integer> atStart = coursesByStart.get(startMinute);
+        atStart.remove(Integer.valueOf(course));
+        if (atStart.isEmpty()) {
+            coursesByStart.remove(startMinute);
+        }
+    }
+
+    /**
+     * Lists the current placements grouped by start time, groups in the order
+     * their first course appears in the given order, largest exam first within
+     * a group, which is the order the Phase 1 room check assumes.
+     *
+     * @param courseOrder placed courses in the order their start times should appear
+     */
+    SlotPlacements toPlacements(List<Integer> courseOrder) {
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int course : courseOrder) {
+            if (startOf[course] >= 0) {
+                groups.computeIfAbsent(startOf[course], k -> new ArrayList<>()).add(course);
+            }
+        }
+
+        SlotPlacements placements = new SlotPlacements(problem.courseCount());
+        for (Map.Entry<Integer, List<Integer>> group : groups.entrySet()) {
+            List<Integer> courses = group.getValue();
+            courses.sort((a, b) -> Integer.compare(problem.courseSize(b), problem.courseSize(a)));
+            for (int course : courses) {
+                int start = group.getKey();
+                placements.add(course, start, start + problem.courseDuration(course), problem.courseSize(course));
+            }
+        }
+        return placements;
+    }
+}
@@ -0,0 +1,59 @@
+package examschd.service.readers;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads an exported schedule (Course,Classroom,Day,StartTime,EndTime; one line
+ * per classroom) back into the start time of every course, e.g. to seed the
+ * next run with ExamConfig.setSeedSchedule.
+ */
+public class ScheduleCsvReader {
+
+    public static Map<String, LocalDateTime> read(String filePath) throws IOException {
+
+        Map<String, LocalDateTime> startTimes = new LinkedHashMap<>();
+
+        try (CSVReader reader = new CSVReaderBuilder(
+                new FileReader(filePath, StandardCharsets.UTF_8)
+        ).build()) {
+
+            String[] line;
+
+            while ((line = reader.readNext()) != null) {
+
+                // header, empty or incomplete lines
+                if (line.length < 4) continue;
+                if (line[0].trim().equalsIgnoreCase("Course")) continue;
+
+                String courseName = line[0].trim();
+                LocalDateTime start;
+
+                try {
+                    start = LocalDate.parse(line[2].trim()).atTime(LocalTime.parse(line[3].trim()));
+                } catch (DateTimeParseException e) {
+                    continue;
+                }
+
+                // the same start is repeated for every classroom of the exam
+                startTimes.putIfAbsent(courseName, start);
+            }
+
+        } catch (CsvValidationException e) {
+            throw new RuntimeException("Invalid CSV format in schedule file", e);
+        }
+
+        return startTimes;
+    }
+}
@@ -0,0 +1,140 @@
+package examschd.service;
+
+import examschd.model.Course;
+import examschd.model.ExamConfig;
+import examschd.model.Student;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictGraphTest {
+
+    private Course courseWith(int id, Student... students) {
+        Course course = new Course(id, "Course_" + id);
+        for (Student s : students) {
+            course.addStudent(s);
+            s.enrollInCourse(course);
+        }
+        return course;
+    }
+
+    private SchedulingProblem compile(List<Student> students, List<Course> courses) {
+        return SchedulingProblem.compile(students, courses, List.of(), new ExamConfig(),
+            LocalDate.of(2025, 1, 6), 1);
+    }
+
+    @Test
+    @DisplayName("Neighbours, degree and shared-student weights")
+    void testNeighboursAndWeights() {
+        Student s1 = new Student(1, "S1");
+        Student s2 = new Student(2, "S2");
+        Student s3 = new Student(3, "S3");
+
+        Course a = courseWith(1, s1, s2);
+        Course b = courseWith(2, s1, s2, s3);
+        Course c = courseWith(3, s3);
+        Course d = courseWith(4);
+
+        SchedulingProblem problem = compile(List.of(s1, s2, s3), List.of(a, b, c, d));
+        ConflictGraph graph = ConflictGraph.build(problem);
+
+        assertEquals(1, graph.degree(problem.courseId(a)));
+        assertEquals(2, graph.degree(problem.courseId(b)));
+        assertEquals(1, graph.degree(problem.courseId(c)));
+        assertEquals(0, graph.degree(problem.courseId(d)));
+
+        assertArrayEquals(new int[]{0, 2}, graph.neighbours(problem.courseId(b)));
+        assertTrue(graph.areAdjacent(0, 1));
+        assertFalse(graph.areAdjacent(0, 2));
+
+        assertEquals(2, graph.sharedStudents(0, 1));
+        assertEquals(1, graph.sharedStudents(1, 2));
+        assertEquals(0, graph.sharedStudents(0, 3));
+        assertEquals(3, graph.totalSharedStudents(1));
+    }
+
+    @Test
+    @DisplayName("Compiled problem stores enrollments in both directions")
+    void testCompiledEnrollments() {
+        Student s1 = new Student(1, "S1");
+        Student s2 = new Student(2, "S2");
+        Student s3 = new Student(3, "S3");
+
+        Course a = courseWith(1, s2, s1);
+        Course b = courseWith(2, s1, s3);
+
+        // s3 is only reachable through course b, so it is appended after s1 and s2
+        SchedulingProblem problem = compile(List.of(s1, s2), List.of(a, b));
+
+        assertEquals(3, problem.studentCount());
+        assertSame(s3, problem.student(2));
+
+        // Course -> students keeps enrollment order
+        assertEquals(2, problem.courseSize(0));
+        assertEquals(1, problem.courseStudents()[problem.courseStudentStart(0)]);
+        assertEquals(0, problem.courseStudents()[problem.courseStudentStart(0) + 1]);
+        assertTrue(problem.courseStudentMask(0).intersects(problem.courseStudentMask(1)));
+
+        // Student -> courses is the transpose
+        assertEquals(2, problem.studentCourseEnd(0) - problem.studentCourseStart(0));
+        assertEquals(1, problem.studentCourses()[problem.studentCourseStart(2)]);
+    }
+
+    @Test
+    @DisplayName("Unknown courses are reported with id -1")
+    void testUnknownCourse() {
+        SchedulingProblem problem = compile(List.of(), List.of(courseWith(1)));
+        assertEquals(-1, problem.courseId(new Course(99, "Other")));
+    }
+
+    @Test
+    @DisplayName("Connected components follow shared students transitively")
+    void testComponents() {
+        Student s1 = new Student(1, "S1");
+        Student s2 = new Student(2, "S2");
+        Student s3 = new Student(3, "S3");
+
+        Course a = courseWith(1, s1);
+        Course b = courseWith(2, s2);
+        Course c = courseWith(3, s1, s3);
+        Course d = courseWith(4, s3);
+        Course e = courseWith(5);
+
+        SchedulingProblem problem = compile(List.of(s1, s2, s3), List.of(a, b, c, d, e));
+
+        // a-c-d are linked through s1 and s3; b and e stand alone
+        assertArrayEquals(new int[]{0, 1, 0, 0, 2}, ConflictGraph.build(problem).components());
+    }
+
+    @Test
+    @DisplayName("A component cut out of the graph matches the graph of its sub-problem")
+    void testRestrictToComponent() {
+        Student s1 = new Student(1, "S1");
+        Student s2 = new Student(2, "S2");
+        Student s3 = new Student(3, "S3");
+
+        Course a = courseWith(1, s1, s2);
+        Course b = courseWith(2, s3);
+        Course c = courseWith(3, s1);
+        Course d = courseWith(4, s1, s2);
+
+        SchedulingProblem problem = compile(List.of(s1, s2, s3), List.of(a, b, c, d));
+        int[] component = {0, 2, 3};
+        ConflictGraph restricted = ConflictGraph.build(problem).restrict(component);
+        ConflictGraph rebuilt = ConflictGraph.build(problem.restrict(component));
+
+        assertEquals(3, restricted.courseCount());
+        for (int course = 0; course < 3; course++) {
+            assertArrayEquals(rebuilt.neighbours(course), restricted.neighbours(course));
+            for (int other = 0; other < 3; other++) {
+                assertEquals(rebuilt.sharedStudents(course, other), restricted.sharedStudents(course, other));
+            }
+        }
+        // a and d (now 0 and 2) share s1 and s2
+        assertEquals(2, restricted.sharedStudents(0, 2));
+    }
+}
@@ -0,0 +1,58 @@
+package examschd.service;
+
+import examschd.model.Course;
+import examschd.model.ExamConfig;
+import examschd.model.Student;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DsaturSequenceTest {
+
+    private Course courseWith(int id, Student... students) {
+        Course course = new Course(id, "Course_" + id);
+        for (Student s : students) {
+            course.addStudent(s);
+            s.enrollInCourse(course);
+        }
+        return course;
+    }
+
+    @Test
+    @DisplayName("Highest degree first, then the most saturated course")
+    void testSaturationOrder() {
+        Student s1 = new Student(1, "S1");
+        Student s2 = new Student(2, "S2");
+        Student s3 = new Student(3, "S3");
+        Student s4 = new Student(4, "S4");
+
+        // Hub shares a student with A, B and C; B and C also share s4
+        Course hub = courseWith(1, s1, s2, s3);
+        Course a = courseWith(2, s1);
+        Course b = courseWith(3, s2, s4);
+        Course c = courseWith(4, s3, s4);
+        Course free = courseWith(5);
+
+        SchedulingProblem problem = SchedulingProblem.compile(List.of(s1, s2, s3, s4),
+            List.of(a, b, c, hub, free), List.of(), new ExamConfig(), LocalDate.of(2025, 1, 6), 1);
+        DsaturSequence sequence = new DsaturSequence(ConflictGraph.build(problem));
+
+        // Nothing placed yet: highest degree wins (hub has 3 neighbours)
+        assertEquals(problem.courseId(hub), sequence.next());
+        sequence.placed(problem.courseId(hub), 600);
+
+        // A, B and C are all saturated by one slot; B and C have degree 2, lower id first
+        assertEquals(problem.courseId(b), sequence.next());
+        sequence.placed(problem.courseId(b), 720);
+
+        // C now sees two distinct blocked slots
+        assertEquals(problem.courseId(c), sequence.next());
+        assertEquals(problem.courseId(a), sequence.next());
+        assertEquals(problem.courseId(free), sequence.next());
+        assertEquals(-1, sequence.next());
+    }
+}
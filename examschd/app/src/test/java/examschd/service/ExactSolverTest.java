@@ -0,0 +1,96 @@
+package examschd.service;
+
+import examschd.model.Classroom;
+import examschd.model.Course;
+import examschd.model.ExamConfig;
+import examschd.model.SchedulingFailureReason;
+import examschd.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExactSolverTest {
+
+    private SchedulingProblem problem;
+    private ConflictGraph conflictGraph;
+    private PhaseOneResult greedy;
+
+    // Five independent courses of 70, 50, 50, 40 and 40 students on ten 10-seat rooms,
+    // two days with one start each (120-minute exams in a 09:00-11:00 window).
+    // The greedy result is first fit largest first: 70 on day 0, 50 + 50 on day 1.
+    @BeforeEach
+    void setUp() {
+        List<Student> students = new ArrayList<>();
+        List<Course> courses = new ArrayList<>();
+        int[] sizes = {70, 50, 50, 40, 40};
+        for (int c = 0; c < sizes.length; c++) {
+            Course course = new Course(c + 1, "Course_" + (c + 1));
+            for (int i = 0; i < sizes[c]; i++) {
+                Student s = new Student(students.size() + 1, "S" + (students.size() + 1));
+                students.add(s);
+                course.addStudent(s);
+            }
+            courses.add(course);
+        }
+        List<Classroom> classrooms = new ArrayList<>();
+        for (int r = 1; r <= 10; r++) {
+            classrooms.add(new Classroom(r, "R" + r, 10));
+        }
+        ExamConfig config = new ExamConfig();
+        config.setExamStartHour(9);
+        config.setExamEndHour(11);
+
+        problem = SchedulingProblem.compile(students, courses, classrooms, config, LocalDate.of(2025, 1, 6), 2);
+        conflictGraph = ConflictGraph.build(problem);
+
+        StartTimeGrid grid = problem.startTimeGrid();
+        int dayZero = grid.start(grid.firstSlot(0));
+        int dayOne = grid.start(grid.firstSlot(1));
+        SlotPlacements placements = new SlotPlacements(problem.courseCount());
+        placements.add(0, dayZero, dayZero + 120, 70);
+        placements.add(1, dayOne, dayOne + 120, 50);
+        placements.add(2, dayOne, dayOne + 120, 50);
+        SchedulingFailureReason[] failureReasons = new SchedulingFailureReason[problem.courseCount()];
+        failureReasons[3] = SchedulingFailureReason.CLASSROOM_CAPACITY_INSUFFICIENT;
+        failureReasons[4] = SchedulingFailureReason.CLASSROOM_CAPACITY_INSUFFICIENT;
+        greedy = new PhaseOneResult(new int[] {0, 1, 2, 3, 4}, placements, failureReasons);
+    }
+
+    @Test
+    @DisplayName("An exhausted search below the bound proves its result optimal")
+    void testExhaustedSearchIsOptimal() {
+        ExactSolver solver = new ExactSolver(problem, conflictGraph);
+        PhaseOneResult result = solver.solve(greedy, problem.courseCount(), 10_000, new CancellationToken());
+
+        // 50 + 50 on one day and 40 + 40 on the other; the 70 no longer fits
+        assertEquals(4, result.scheduledCount());
+        assertNotNull(result.failureReasons()[0]);
+        assertTrue(solver.isOptimal());
+    }
+
+    @Test
+    @DisplayName("A search cut off by the time limit returns the greedy result and proves nothing")
+    void testTimeLimitFallsBackToGreedy() {
+        ExactSolver solver = new ExactSolver(problem, conflictGraph);
+        PhaseOneResult result = solver.solve(greedy, problem.courseCount(), 0, new CancellationToken());
+
+        assertSame(greedy, result);
+        assertFalse(solver.isOptimal());
+    }
+
+    @Test
+    @DisplayName("A greedy result at the upper bound is optimal without searching")
+    void testGreedyAtBoundIsOptimal() {
+        ExactSolver solver = new ExactSolver(problem, conflictGraph);
+        PhaseOneResult result = solver.solve(greedy, greedy.scheduledCount(), 0, new CancellationToken());
+
+        assertSame(greedy, result);
+        assertTrue(solver.isOptimal());
+    }
+}
@@ -0,0 +1,81 @@
+package examschd.service;
+
+import examschd.model.Classroom;
+import examschd.model.Course;
+import examschd.model.ExamConfig;
+import examschd.model.Student;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeasibleSlotsTest {
+
+    private static final int NINE = 9 * 60;
+
+    private SchedulingProblem problem;
+    private DailyExamCounter dailyExams;
+
+    // Courses 0 and 1 share a student, course 2 shares none; all 60-minute exams
+    private FeasibleSlots slotsFor(ExamConfig config, int days) {
+        Student shared = new Student(1, "Shared");
+        Student other = new Student(2, "Other");
+        Course a = new Course(1, "A");
+        Course b = new Course(2, "B");
+        Course c = new Course(3, "C");
+        for (Course course : List.of(a, b, c)) {
+            course.setDurationMinutes(60);
+        }
+        a.addStudent(shared);
+        b.addStudent(shared);
+        c.addStudent(other);
+
+        problem = SchedulingProblem.compile(List.of(shared, other), List.of(a, b, c),
+            List.of(new Classroom(1, "R1", 50)), config, LocalDate.of(2025, 1, 6), days);
+        dailyExams = new DailyExamCounter(problem.studentCount(), days);
+        return new FeasibleSlots(problem);
+    }
+
+    private void place(FeasibleSlots slots, int course, int startMinute) {
+        dailyExams.record(problem.courseStudents(), problem.courseStudentStart(course),
+            problem.courseStudentEnd(course), problem.horizon().dayOf(startMinute));
+        slots.settle(course);
+        slots.placed(course, startMinute, dailyExams);
+    }
+
+    @Test
+    @DisplayName("Placing an exam clears the student gap for neighbours and overlapping starts for everyone")
+    void testInvalidation() {
+        ExamConfig config = new ExamConfig();   // 90-minute gap, 15-minute turnover, 30-minute grid
+        config.setMaxExamsPerDay(5);
+        FeasibleSlots slots = slotsFor(config, 1);
+        StartTimeGrid grid = problem.startTimeGrid();
+
+        place(slots, 0, NINE);                   // 09:00-10:00
+
+        // Neighbour: 10:00 + 90-minute gap, so 11:30 is the first start left
+        assertEquals(grid.slotAt(NINE + 150), slots.nextSlot(1, 0));
+
+        // Unrelated course: may share 09:00, but not overlap it (10:00 + turnover)
+        assertEquals(grid.slotAt(NINE), slots.nextSlot(2, 0));
+        assertEquals(grid.slotAt(NINE + 90), slots.nextSlot(2, 1));
+    }
+
+    @Test
+    @DisplayName("A student reaching the daily limit closes that day for their other courses")
+    void testDailyLimit() {
+        ExamConfig config = new ExamConfig();
+        config.setMaxExamsPerDay(1);
+        config.setStudentMinGapMinutes(0);
+        FeasibleSlots slots = slotsFor(config, 2);
+        StartTimeGrid grid = problem.startTimeGrid();
+
+        place(slots, 0, NINE);
+
+        assertEquals(grid.firstSlot(1), slots.nextSlot(1, 0));
+        assertEquals(grid.slotAt(NINE), slots.nextSlot(2, 0));
+    }
+}
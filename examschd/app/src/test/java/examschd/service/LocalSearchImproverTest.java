@@ -0,0 +1,179 @@
+package examschd.service;
+
+import examschd.model.Classroom;
+import examschd.model.Course;
+import examschd.model.ExamConfig;
+import examschd.model.SchedulingFailureReason;
+import examschd.model.Student;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalSearchImproverTest {
+
+    private SchedulingProblem problem;
+    private ConflictGraph conflictGraph;
+    private int[] starts;
+
+    // One day of 50-minute exams on a 60-minute grid from 09:00, no gap or turnover,
+    // so exams at different starts never overlap. Every course has one student of its
+    // own plus one shared student per conflict; rooms seat ten, one exam per room.
+    private void compile(int courseCount, int roomCount, int endHour, int[][] conflicts) {
+        List<Student> students = new ArrayList<>();
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < courseCount; c++) {
+            Course course = new Course(c + 1, "C" + c);
+            course.setDurationMinutes(50);
+            Student own = new Student(students.size() + 1, "S" + (students.size() + 1));
+            students.add(own);
+            course.addStudent(own);
+            courses.add(course);
+        }
+        for (int[] conflict : conflicts) {
+            Student shared = new Student(students.size() + 1, "S" + (students.size() + 1));
+            students.add(shared);
+            courses.get(conflict[0]).addStudent(shared);
+            courses.get(conflict[1]).addStudent(shared);
+        }
+        List<Classroom> classrooms = new ArrayList<>();
+        for (int r = 1; r <= roomCount; r++) {
+            classrooms.add(new Classroom(r, "R" + r, 10));
+        }
+
+        ExamConfig config = new ExamConfig();
+        config.setExamStartHour(9);
+        config.setExamEndHour(endHour);
+        config.setStartTimeGranularityMinutes(60);
+        config.setStudentMinGapMinutes(0);
+        config.setRoomTurnoverMinutes(0);
+        config.setMaxExamsPerDay(5);
+
+        problem = SchedulingProblem.compile(students, courses, classrooms, config, LocalDate.of(2025, 1, 6), 1);
+        conflictGraph = ConflictGraph.build(problem);
+        starts = new Timetable(problem).candidateStarts();
+    }
+
+    /**
+     * @param slots per course, the index of its start (-1 = left out by the greedy run)
+     */
+    private PhaseOneResult greedy(int... slots) {
+        SlotPlacements placements = new SlotPlacements(slots.length);
+        SchedulingFailureReason[] failureReasons = new SchedulingFailureReason[slots.length];
+        int[] order = new int[slots.length];
+        for (int course = 0; course < slots.length; course++) {
+            order[course] = course;
+            if (slots[course] < 0) {
+                failureReasons[course] = SchedulingFailureReason.STUDENT_CONFLICT;
+                continue;
+            }
+            int start = starts[slots[course]];
+            placements.add(course, start, start + problem.courseDuration(course), problem.courseSize(course));
+        }
+        return new PhaseOneResult(order, placements, failureReasons);
+    }
+
+    /**
+     * Improves the greedy result, replays it on a fresh timetable to check that the
+     * incremental evaluation agrees with a full check, and returns the start slot of
+     * every course.
+     */
+    private int[] improve(PhaseOneResult greedy) {
+        PhaseOneResult result = new LocalSearchImprover(problem, conflictGraph)
+            .improve(greedy, 10_000, new CancellationToken());
+
+        Timetable replay = new Timetable(problem);
+        int[] slots = new int[problem.courseCount()];
+        Arrays.fill(slots, -1);
+        SlotPlacements placements = result.placements();
+        for (int i = 0; i < placements.size(); i++) {
+            int course = placements.course(i);
+            int start = placements.startMinute(i);
+            assertNull(replay.check(course, start), "Course " + course + " should fit where it was placed");
+            replay.place(course, start);
+            slots[course] = Arrays.binarySearch(starts, start);
+            assertNull(result.failureReasons()[course]);
+        }
+        return slots;
+    }
+
+    @Test
+    @DisplayName("Insert: a course with a free start is placed there")
+    void testInsert() {
+        compile(2, 2, 11, new int[0][]);
+
+        assertArrayEquals(new int[] {0, 0}, improve(greedy(0, -1)));
+    }
+
+    @Test
+    @DisplayName("Relocate: the single exam blocking the course moves to another start")
+    void testRelocate() {
+        // Course 2 clashes with 0 at 09:00 and with 1 at 10:00; 0 can join 1
+        compile(3, 2, 11, new int[][] {{2, 0}, {2, 1}});
+
+        assertArrayEquals(new int[] {1, 1, 0}, improve(greedy(0, 1, -1)));
+    }
+
+    @Test
+    @DisplayName("Swap: the blocking exam trades starts with another exam when no start has room for it alone")
+    void testSwap() {
+        // 09:00 and 10:00 are full; course 5 clashes with 4, the only exam at 11:00.
+        // Course 4 cannot relocate to a full start, but can trade with course 0.
+        compile(6, 2, 12, new int[][] {{5, 4}});
+
+        assertArrayEquals(new int[] {2, 0, 1, 1, 0, 2}, improve(greedy(0, 0, 1, 1, 2, -1)));
+    }
+
+    @Test
+    @DisplayName("Kempe chain: conflicting groups at two starts change sides together")
+    void testKempeChain() {
+        // Course 5 clashes with both exams at 09:00 (so no single blocker to move)
+        // and 10:00 is full; 0 and 1 drag their neighbours 2 and 3 along to 09:00
+        compile(6, 3, 11, new int[][] {{5, 0}, {5, 1}, {0, 2}, {1, 3}});
+
+        assertArrayEquals(new int[] {1, 1, 0, 0, 1, 0}, improve(greedy(0, 0, 1, 1, 1, -1)));
+    }
+
+    @Test
+    @DisplayName("Rejected moves are rolled back and the greedy result is returned")
+    void testRejectedMovesRollBack() {
+        // One room: every move needs a start that is already taken
+        compile(3, 1, 11, new int[][] {{2, 0}, {2, 1}});
+        PhaseOneResult greedy = greedy(0, 1, -1);
+
+        PhaseOneResult result = new LocalSearchImprover(problem, conflictGraph)
+            .improve(greedy, 10_000, new CancellationToken());
+        assertSame(greedy, result);
+
+        // Taking an exam out and placing it back restores every check
+        Timetable timetable = new Timetable(problem);
+        timetable.place(0, starts[0]);
+        timetable.place(1, starts[1]);
+        List<SchedulingFailureReason> before = checks(timetable);
+        timetable.remove(0);
+        assertNull(timetable.check(2, starts[0]));
+        timetable.place(0, starts[0]);
+        assertEquals(before, checks(timetable));
+    }
+
+    /**
+     * @return the check of every unplaced course at every start, by course and start
+     */
+    private List<SchedulingFailureReason> checks(Timetable timetable) {
+        List<SchedulingFailureReason> reasons = new ArrayList<>();
+        for (int course = 0; course < problem.courseCount(); course++) {
+            if (timetable.startOf()[course] >= 0) {
+                continue;
+            }
+            for (int start : starts) {
+                reasons.add(timetable.check(course, start));
+            }
+        }
+        return reasons;
+    }
+}
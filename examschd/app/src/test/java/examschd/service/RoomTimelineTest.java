@@ -0,0 +1,41 @@
+package examschd.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomTimelineTest {
+
+    @Test
+    @DisplayName("Turnover window is inclusive on both sides")
+    void testTurnoverWindow() {
+        RoomTimeline timeline = new RoomTimeline(2);
+        timeline.add(0, 600, 720);   // 10:00-12:00
+
+        // Touching the turnover buffer still blocks the room
+        assertFalse(timeline.isFree(0, 750, 800, 30));
+        assertFalse(timeline.isFree(0, 500, 570, 30));
+
+        // One minute beyond the buffer is free
+        assertTrue(timeline.isFree(0, 751, 800, 30));
+        assertTrue(timeline.isFree(0, 500, 569, 30));
+
+        // Other rooms are unaffected
+        assertTrue(timeline.isFree(1, 600, 720, 30));
+    }
+
+    @Test
+    @DisplayName("Sessions added out of order are still found")
+    void testOutOfOrderInsertion() {
+        RoomTimeline timeline = new RoomTimeline(1);
+        timeline.add(0, 2000, 2100);
+        timeline.add(0, 100, 200);
+        timeline.add(0, 1000, 1100);
+
+        assertFalse(timeline.isFree(0, 1050, 1060, 0));
+        assertFalse(timeline.isFree(0, 150, 160, 0));
+        assertTrue(timeline.isFree(0, 300, 900, 0));
+        assertTrue(timeline.isFree(0, 2200, 2300, 0));
+    }
+}
@@ -0,0 +1,140 @@
+package examschd.service;
+
+import examschd.model.Classroom;
+import examschd.model.Course;
+import examschd.model.ExamConfig;
+import examschd.model.PinnedExam;
+import examschd.model.SchedulingFailureReason;
+import examschd.model.Student;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleBoundsTest {
+
+    private Course courseWith(int id, int duration, List<Student> students) {
+        Course course = new Course(id, "Course_" + id);
+        course.setDurationMinutes(duration);
+        for (Student s : students) {
+            course.addStudent(s);
+            s.enrollInCourse(course);
+        }
+        return course;
+    }
+
+    private List<Student> students(int firstId, int count) {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            students.add(new Student(firstId + i, "S" + (firstId + i)));
+        }
+        return students;
+    }
+
+    private ScheduleBounds bounds(List<Course> courses, List<Classroom> rooms, ExamConfig config, int days) {
+        List<Student> all = new ArrayList<>();
+        for (Course course : courses) {
+            all.addAll(course.getStudents());
+        }
+        SchedulingProblem problem = SchedulingProblem.compile(all, courses, rooms, config,
+            LocalDate.of(2025, 1, 6), days);
+        return ScheduleBounds.compute(problem, ConflictGraph.build(problem));
+    }
+
+    @Test
+    @DisplayName("Courses larger than all rooms or longer than the exam day are unschedulable")
+    void testUnschedulableCourses() {
+        Course tooLarge = courseWith(1, 60, students(1, 30));
+        Course tooLong = courseWith(2, 13 * 60, students(100, 5));
+        Course fine = courseWith(3, 60, students(200, 5));
+
+        ScheduleBounds bounds = bounds(List.of(tooLarge, tooLong, fine),
+            List.of(new Classroom(1, "R1", 10), new Classroom(2, "R2", 10)), new ExamConfig(), 3);
+
+        assertEquals(SchedulingFailureReason.CLASSROOM_CAPACITY_INSUFFICIENT, bounds.unschedulableReason(0));
+        assertEquals(SchedulingFailureReason.NO_AVAILABLE_SLOTS, bounds.unschedulableReason(1));
+        assertNull(bounds.unschedulableReason(2));
+        assertEquals(2, bounds.unschedulableCount());
+        assertEquals(1, bounds.upperBound());
+    }
+
+    @Test
+    @DisplayName("A student's courses are limited by maxExamsPerDay over the horizon")
+    void testStudentDailyLimitBound() {
+        List<Student> shared = students(1, 3);
+        List<Course> courses = new ArrayList<>();
+        for (int c = 1; c <= 5; c++) {
+            courses.add(courseWith(c, 60, shared));
+        }
+
+        ExamConfig config = new ExamConfig();
+        config.setMaxExamsPerDay(2);
+
+        ScheduleBounds bounds = bounds(courses, List.of(new Classroom(1, "R1", 50)), config, 1);
+
+        assertEquals(0, bounds.unschedulableCount());
+        assertEquals(2, bounds.upperBound());
+    }
+
+    @Test
+    @DisplayName("A clique of conflicting courses is limited by the exams that fit in a day")
+    void testCliqueBound() {
+        // Every pair of courses shares its own student, so no student takes more than two
+        int courseCount = 6;
+        List<List<Student>> enrolled = new ArrayList<>();
+        for (int c = 0; c < courseCount; c++) {
+            enrolled.add(new ArrayList<>());
+        }
+        int studentId = 1;
+        for (int a = 0; a < courseCount; a++) {
+            for (int b = a + 1; b < courseCount; b++) {
+                Student s = new Student(studentId, "S" + studentId++);
+                enrolled.get(a).add(s);
+                enrolled.get(b).add(s);
+            }
+        }
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < courseCount; c++) {
+            courses.add(courseWith(c + 1, 180, enrolled.get(c)));
+        }
+
+        // 12-hour window, 180-minute exams at least 15 minutes apart: 3 per day
+        ExamConfig config = new ExamConfig();
+        config.setMaxExamsPerDay(5);
+
+        ScheduleBounds bounds = bounds(courses, List.of(new Classroom(1, "R1", 50)), config, 1);
+
+        assertEquals(3, bounds.upperBound());
+    }
+
+    @Test
+    @DisplayName("Pinned exams are never unschedulable and do not tighten the bound")
+    void testPinnedExamsBound() {
+        List<Student> shared = students(1, 3);
+        List<Course> courses = new ArrayList<>();
+        for (int c = 1; c <= 5; c++) {
+            courses.add(courseWith(c, 60, shared));
+        }
+        courses.add(courseWith(6, 60, students(100, 60)));
+
+        // Three pins over the daily limit of two, and one pin larger than all rooms
+        LocalDate day = LocalDate.of(2025, 1, 6);
+        ExamConfig config = new ExamConfig();
+        config.setMaxExamsPerDay(2);
+        config.setPinnedExams(List.of(
+            new PinnedExam("Course_1", day.atTime(9, 0)),
+            new PinnedExam("Course_2", day.atTime(11, 0)),
+            new PinnedExam("Course_3", day.atTime(13, 0)),
+            new PinnedExam("Course_6", day.atTime(15, 0), List.of("R1"))
+        ));
+
+        ScheduleBounds bounds = bounds(courses, List.of(new Classroom(1, "R1", 50)), config, 1);
+
+        assertEquals(0, bounds.unschedulableCount());
+        assertTrue(bounds.upperBound() >= 4, "All four pinned exams are always placed");
+    }
+}
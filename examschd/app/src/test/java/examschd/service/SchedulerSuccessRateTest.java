@@ -13,7 +13,15 @@ import java.util.*;
  */
 public class SchedulerSuccessRateTest {
 
-    private final Scheduler scheduler = new Scheduler();
+    // Phase 1 results of every ordering strategy in the current scenario
+    private final Map<String, Integer> strategyResults = new LinkedHashMap<>();
+
+    private final Scheduler scheduler = new Scheduler(new SchedulingListener() {
+        @Override
+        public void onStrategyEvaluated(String strategyName, int scheduledCount, int courseCount) {
+            strategyResults.put(strategyName, scheduledCount);
+        }
+    });
 
     @Test
     @DisplayName("Success Rate Analysis: Various Scenarios")
@@ -105,6 +113,7 @@ public class SchedulerSuccessRateTest {
         LocalDate start = LocalDate.now();
         LocalDate end = start.plusDays(examDays - 1);
 
+        strategyResults.clear();
         long startTime = System.currentTimeMillis();
         Map<LocalDate, List<ExamSession>> result = scheduler.generateSchedule(
             data.getStudents(), data.getCourses(), data.getClassrooms(),
@@ -144,6 +153,12 @@ public class SchedulerSuccessRateTest {
         System.out.printf("  ✓ Classrooms used: %d/%d (%.1f%%)\n",
             roomsUsed.size(), classrooms, roomUtilization);
 
+        System.out.println("  Strategy success rates (Phase 1):");
+        for (Map.Entry<String, Integer> strategy : strategyResults.entrySet()) {
+            System.out.printf("    - %-15s %d/%d (%.1f%%)\n", strategy.getKey() + ":",
+                strategy.getValue(), totalCourses, (strategy.getValue() * 100.0) / totalCourses);
+        }
+
         if (scheduledCourses < totalCourses) {
             int failed = totalCourses - scheduledCourses;
             System.out.println("  ⚠ Failed to schedule: " + failed + " courses (" +
@@ -2,13 +2,18 @@ package examschd.service;
 
 import examschd.model.*;
 import examschd.service.readers.*;
+import examschd.util.TestDataGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -132,6 +137,44 @@ class SchedulerTest {
         }
     }
 
+    @Test
+    @DisplayName("Students are seated once per exam, in enrollment order, with assignments built on demand")
+    void testSeatAssignments() {
+        List<Student> students = new ArrayList<>();
+        Course course = new Course(1, "SplitCourse");
+        for (int i = 1; i <= 70; i++) {
+            Student s = new Student(i, "Student_" + i);
+            students.add(s);
+            course.addStudent(s);
+            s.enrollInCourse(course);
+        }
+        List<Classroom> classrooms = List.of(new Classroom(1, "Room_1", 30), new Classroom(2, "Room_2", 30),
+            new Classroom(3, "Room_3", 30));
+
+        ExamConfig config = new ExamConfig();
+        LocalDate start = LocalDate.now();
+        ExamSession session = scheduler.generateSchedule(
+            students, List.of(course), classrooms, new ArrayList<>(), config, start, start
+        ).getSchedule().values().iterator().next().get(0);
+
+        int studentIndex = 0;
+        for (ExamPartition partition : session.getPartitions()) {
+            assertEquals(partition.getCapacityAssigned(), partition.getSeatedCount());
+            List<StudentAssignment> assignments = partition.getStudentAssignments();
+            assertSame(assignments, partition.getStudentAssignments(), "Assignments should be built once");
+            assertEquals(partition.getSeatedCount(), assignments.size());
+            for (int seat = 0; seat < assignments.size(); seat++) {
+                StudentAssignment assignment = assignments.get(seat);
+                assertEquals(seat + 1, assignment.getSeatNumber());
+                assertSame(partition, assignment.getPartition());
+                assertSame(students.get(studentIndex++), assignment.getStudent());
+                assertTrue(partition.hasStudent(assignment.getStudent().getId()));
+            }
+        }
+        assertEquals(70, studentIndex, "Every student should be seated exactly once");
+        assertFalse(session.getPartitions().get(0).hasStudent(70));
+    }
+
     @Test
     @DisplayName("No student conflicts - same student cannot have two exams at same time")
     void testNoStudentConflicts() {
@@ -257,6 +300,146 @@ class SchedulerTest {
             "Course with 50 students should not be scheduled when only 20 capacity available");
     }
 
+    @Test
+    @DisplayName("Exams sharing a start time get rooms largest first, as Phase 1 assumed")
+    void testSharedStartRoomOrder() {
+        // Two independent courses; the smaller one comes first in the input
+        List<Student> students = new ArrayList<>();
+        Course small = new Course(1, "SmallCourse");
+        Course large = new Course(2, "LargeCourse");
+        for (int i = 1; i <= 115; i++) {
+            Student s = new Student(i, "Student_" + i);
+            students.add(s);
+            Course course = i <= 15 ? small : large;
+            course.addStudent(s);
+            s.enrollInCourse(course);
+        }
+
+        // 100 + 10 + 10 seats: both fit only if the large exam gets the large room
+        List<Classroom> classrooms = List.of(new Classroom(1, "Hall", 100),
+            new Classroom(2, "Room_1", 10), new Classroom(3, "Room_2", 10));
+
+        // The window holds exactly one start time, so both exams share it
+        ExamConfig config = new ExamConfig();
+        config.setExamStartHour(9);
+        config.setExamEndHour(11);
+
+        LocalDate day = LocalDate.now();
+        Map<LocalDate, List<ExamSession>> result = scheduler.generateSchedule(
+            students, List.of(small, large), classrooms, new ArrayList<>(), config, day, day
+        ).getSchedule();
+
+        assertEquals(2, result.values().stream().mapToInt(List::size).sum(),
+            "Both exams accepted by Phase 1 should get rooms");
+        for (ExamSession session : result.get(day)) {
+            if (session.getCourse().equals(large)) {
+                assertEquals("Hall", session.getPartitions().get(0).getClassroom().getName());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Max exams per day: a student never sits more than the daily limit")
+    void testMaxExamsPerDayRespected() {
+        List<Student> students = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            students.add(new Student(i, "Student_" + i));
+        }
+
+        // Three courses taken by the same students; time allows all three on one day
+        List<Course> courses = new ArrayList<>();
+        for (int c = 1; c <= 3; c++) {
+            Course course = new Course(c, "Course_" + c);
+            course.setDurationMinutes(60);
+            for (Student s : students) {
+                course.addStudent(s);
+                s.enrollInCourse(course);
+            }
+            courses.add(course);
+        }
+
+        List<Classroom> classrooms = List.of(new Classroom(1, "Room1", 50));
+
+        ExamConfig config = new ExamConfig();
+        config.setMaxExamsPerDay(2);
+        config.setStudentMinGapMinutes(0);
+
+        LocalDate day = LocalDate.now();
+
+        ScheduleResult result = scheduler.generateSchedule(
+            students, courses, classrooms, new ArrayList<>(), config, day, day
+        );
+
+        assertEquals(2, result.getSchedule().values().stream().mapToInt(List::size).sum(),
+            "Only two of the three shared courses fit under a limit of 2 exams per day");
+        assertEquals(1, result.getUnscheduledCourses().size());
+        assertEquals(SchedulingFailureReason.MAX_EXAMS_PER_DAY_EXCEEDED,
+            result.getFailureReason(result.getUnscheduledCourses().get(0)));
+    }
+
+    @Test
+    @DisplayName("Listener receives placement and failure events matching the result")
+    void testListenerEvents() {
+        List<Student> students = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            students.add(new Student(i, "Student_" + i));
+        }
+
+        List<Course> courses = new ArrayList<>();
+        for (int c = 1; c <= 3; c++) {
+            Course course = new Course(c, "Course_" + c);
+            course.setDurationMinutes(60);
+            for (Student s : students) {
+                course.addStudent(s);
+                s.enrollInCourse(course);
+            }
+            courses.add(course);
+        }
+
+        ExamConfig config = new ExamConfig();
+        config.setMaxExamsPerDay(2);
+        config.setStudentMinGapMinutes(0);
+
+        List<String> events = new ArrayList<>();
+        SchedulingListener recorder = new SchedulingListener() {
+            @Override
+            public void onPhaseStart(Phase phase) {
+                events.add("start " + phase);
+            }
+
+            @Override
+            public void onExamTimeSlotted(Course course, LocalDateTime startTime, boolean newTimeSlot) {
+                events.add("slotted " + course.getCourseName());
+            }
+
+            @Override
+            public void onExamUnscheduled(Course course, SchedulingFailureReason reason,
+                                          int conflictingCourses, int sharedEnrollments) {
+                events.add("failed " + course.getCourseName() + " " + reason + " " + conflictingCourses);
+            }
+
+            @Override
+            public void onRoomsAssigned(Course course, int roomCount) {
+                events.add("rooms " + course.getCourseName() + " " + roomCount);
+            }
+        };
+
+        LocalDate day = LocalDate.now();
+        new Scheduler(recorder).generateSchedule(
+            students, courses, List.of(new Classroom(1, "Room1", 50)), new ArrayList<>(), config, day, day
+        );
+
+        assertEquals(List.of(
+            "start TIME_SLOT_ASSIGNMENT",
+            "slotted Course_1",
+            "slotted Course_2",
+            "failed Course_3 MAX_EXAMS_PER_DAY_EXCEEDED 2",
+            "start CLASSROOM_ASSIGNMENT",
+            "rooms Course_1 1",
+            "rooms Course_2 1"
+        ), events);
+    }
+
     @Test
     @DisplayName("Course duration constraint: respect exam hours and duration limits")
     void testCourseDurationConstraint() {
@@ -375,8 +558,8 @@ class SchedulerTest {
 
         long startTime = System.currentTimeMillis();
 
-        examschd.util.TestDataGenerator.GeneratedData data =
-            examschd.util.TestDataGenerator.builder()
+        TestDataGenerator.GeneratedData data =
+            TestDataGenerator.builder()
                 .studentCount(1000)
                 .courseCount(50)
                 .classroomCount(20)
@@ -441,8 +624,8 @@ class SchedulerTest {
 
         long startTime = System.currentTimeMillis();
 
-        examschd.util.TestDataGenerator.GeneratedData data =
-            examschd.util.TestDataGenerator.builder()
+        TestDataGenerator.GeneratedData data =
+            TestDataGenerator.builder()
                 .studentCount(10000)
                 .courseCount(500)
                 .classroomCount(50)
@@ -490,8 +673,8 @@ class SchedulerTest {
         System.out.println("\n=== DENSE CONFLICT STRESS TEST ===");
 
         // Generate data where students have high overlap in courses
-        examschd.util.TestDataGenerator.GeneratedData data =
-            examschd.util.TestDataGenerator.builder()
+        TestDataGenerator.GeneratedData data =
+            TestDataGenerator.builder()
                 .studentCount(500)
                 .courseCount(30)
                 .classroomCount(15)
@@ -530,8 +713,8 @@ class SchedulerTest {
         System.out.println("\n=== VARIED CAPACITY STRESS TEST ===");
 
         // Generate courses with wildly different sizes
-        examschd.util.TestDataGenerator.GeneratedData data =
-            examschd.util.TestDataGenerator.builder()
+        TestDataGenerator.GeneratedData data =
+            TestDataGenerator.builder()
                 .studentCount(2000)
                 .courseCount(100)
                 .classroomCount(30)
@@ -576,17 +759,7 @@ class SchedulerTest {
     void testLimitedTimeSlots() {
         System.out.println("\n=== LIMITED TIME SLOTS STRESS TEST ===");
 
-        examschd.util.TestDataGenerator.GeneratedData data =
-            examschd.util.TestDataGenerator.builder()
-                .studentCount(500)
-                .courseCount(80)
-                .classroomCount(25)
-                .avgStudentsPerCourse(30, 10)
-                .avgCoursesPerStudent(4, 2)
-                .classroomCapacities(30, 40, 50)
-                .seed(555)
-                .build()
-                .generate();
+        TestDataGenerator.GeneratedData data = conflictingData();
 
         data.printStatistics();
 
@@ -609,6 +782,715 @@ class SchedulerTest {
         assertTrue(totalScheduled <= 80, "Should not schedule more courses than we have");
     }
 
+    @Test
+    @DisplayName("Local search fits courses the greedy orderings leave out and keeps the schedule conflict-free")
+    void testImprovementPass() {
+        TestDataGenerator.GeneratedData data = conflictingData();
+
+        ExamConfig config = new ExamConfig();
+        config.setMaxExamsPerDay(2);
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(2);
+
+        int greedyScheduled = scheduler.generateSchedule(
+            data.getStudents(), data.getCourses(), data.getClassrooms(),
+            data.getEnrollments(), config, start, end
+        ).getSchedule().values().stream().mapToInt(List::size).sum();
+
+        config.setImprovementTimeLimitMillis(500);
+        ScheduleResult improved = scheduler.generateSchedule(
+            data.getStudents(), data.getCourses(), data.getClassrooms(),
+            data.getEnrollments(), config, start, end
+        );
+        int improvedScheduled = improved.getSchedule().values().stream().mapToInt(List::size).sum();
+
+        assertEquals(22, greedyScheduled);
+        assertEquals(23, improvedScheduled);
+        assertEquals(data.getCourses().size() - improvedScheduled, improved.getUnscheduledCourses().size());
+        verifyNoStudentConflicts(improved.getSchedule());
+    }
+
+    @Test
+    @DisplayName("Local search moves an exam the greedy orderings put at the wrong start")
+    void testImprovementFitsLeftOutCourse() {
+        ExamConfig config = new ExamConfig();
+        config.setExamStartHour(9);
+        config.setExamEndHour(11);
+        config.setStartTimeGranularityMinutes(60);
+        config.setStudentMinGapMinutes(0);
+        config.setRoomTurnoverMinutes(0);
+        LocalDate day = LocalDate.now();
+
+        List<Student> students = new ArrayList<>();
+        List<Course> courses = hubCourses(students);
+        int greedyScheduled = scheduler.generateSchedule(
+            students, courses, hubRooms(), new ArrayList<>(), config, day, day
+        ).getSchedule().values().stream().mapToInt(List::size).sum();
+
+        config.setImprovementTimeLimitMillis(500);
+        students = new ArrayList<>();
+        courses = hubCourses(students);
+        ScheduleResult improved = scheduler.generateSchedule(
+            students, courses, hubRooms(), new ArrayList<>(), config, day, day
+        );
+        int improvedScheduled = improved.getSchedule().values().stream().mapToInt(List::size).sum();
+
+        // Every ordering puts both hubs at 09:00 (the most conflicts and the
+        // largest exams); their four neighbours then compete for three rooms at 10:00
+        assertEquals(5, greedyScheduled);
+        assertEquals(6, improvedScheduled);
+        Map<String, LocalDateTime> starts = improved.getStartTimes();
+        assertNotEquals(starts.get("Hub_1"), starts.get("Hub_2"));
+        verifyNoStudentConflicts(improved.getSchedule());
+    }
+
+    @Test
+    @DisplayName("Exact search finds the optimum where every greedy ordering falls short")
+    void testExactSearch() {
+        ExamConfig config = new ExamConfig();
+        config.setExamStartHour(9);
+        config.setExamEndHour(11);
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(1);
+
+        List<Student> students = new ArrayList<>();
+        List<Course> courses = packingCourses(students);
+        int greedyScheduled = scheduler.generateSchedule(
+            students, courses, packingRooms(), new ArrayList<>(), config, start, end
+        ).getSchedule().values().stream().mapToInt(List::size).sum();
+
+        config.setExactTimeLimitMillis(2000);
+        students = new ArrayList<>();
+        courses = packingCourses(students);
+        ScheduleResult exact = scheduler.generateSchedule(
+            students, courses, packingRooms(), new ArrayList<>(), config, start, end
+        );
+        int exactScheduled = exact.getSchedule().values().stream().mapToInt(List::size).sum();
+
+        // First fit largest first: 70 alone, then 50 + 50; both 40s are left out.
+        // The optimum pairs the 50s on one day and the 40s on the other.
+        assertEquals(3, greedyScheduled);
+        assertEquals(4, exactScheduled);
+        assertEquals(courses.size() - exactScheduled, exact.getUnscheduledCourses().size());
+        verifyNoStudentConflicts(exact.getSchedule());
+    }
+
+    @Test
+    @DisplayName("Repair after a classroom removal keeps every exam that did not use the room")
+    void testRepairAfterClassroomRemoval() {
+        TestDataGenerator.GeneratedData data = conflictingData();
+
+        ExamConfig config = new ExamConfig();
+        config.setMaxExamsPerDay(2);
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(2);
+
+        ScheduleResult previous = scheduler.generateSchedule(
+            data.getStudents(), data.getCourses(), data.getClassrooms(),
+            data.getEnrollments(), config, start, end
+        );
+        Classroom removed = previous.getSchedule().values().iterator().next()
+            .get(0).getPartitions().get(0).getClassroom();
+
+        Map<Course, LocalDateTime> keptStarts = new HashMap<>();
+        for (List<ExamSession> sessions : previous.getSchedule().values()) {
+            for (ExamSession session : sessions) {
+                boolean usedRoom = session.getPartitions().stream().anyMatch(p -> p.getClassroom().equals(removed));
+                if (!usedRoom) {
+                    keptStarts.put(session.getCourse(), session.getStartTime());
+                }
+            }
+        }
+
+        List<Classroom> classrooms = new ArrayList<>(data.getClassrooms());
+        classrooms.remove(removed);
+        ScheduleResult repaired = scheduler.repair(
+            previous, new ScheduleDelta().removeClassroom(removed.getClassroomId()),
+            data.getStudents(), data.getCourses(), classrooms, config, start, end
+        );
+
+        Map<Course, LocalDateTime> repairedStarts = new HashMap<>();
+        for (List<ExamSession> sessions : repaired.getSchedule().values()) {
+            for (ExamSession session : sessions) {
+                repairedStarts.put(session.getCourse(), session.getStartTime());
+                assertEquals(List.of(session), session.getCourse().getExamSessions(),
+                    "The repaired session should replace the previous one");
+                for (ExamPartition partition : session.getPartitions()) {
+                    assertNotEquals(removed, partition.getClassroom());
+                }
+            }
+        }
+        for (Map.Entry<Course, LocalDateTime> kept : keptStarts.entrySet()) {
+            assertEquals(kept.getValue(), repairedStarts.get(kept.getKey()),
+                kept.getKey().getCourseName() + " should keep its start time");
+        }
+        assertEquals(data.getCourses().size() - repairedStarts.size(), repaired.getUnscheduledCourses().size());
+        verifyNoStudentConflicts(repaired.getSchedule());
+    }
+
+    @Test
+    @DisplayName("Repair after a student removal takes the student out and keeps every start time")
+    void testRepairAfterStudentRemoval() {
+        TestDataGenerator.GeneratedData data =
+            TestDataGenerator.builder()
+                .studentCount(200)
+                .courseCount(30)
+                .classroomCount(10)
+                .avgStudentsPerCourse(30, 10)
+                .avgCoursesPerStudent(3, 1)
+                .classroomCapacities(30, 40, 50)
+                .seed(77)
+                .build()
+                .generate();
+
+        ExamConfig config = new ExamConfig();
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(1);
+
+        ScheduleResult previous = scheduler.generateSchedule(
+            data.getStudents(), data.getCourses(), data.getClassrooms(),
+            data.getEnrollments(), config, start, end
+        );
+        Student removed = data.getStudents().get(0);
+
+        ScheduleResult repaired = scheduler.repair(
+            previous, new ScheduleDelta().removeStudent(removed.getId()),
+            data.getStudents(), data.getCourses(), data.getClassrooms(), config, start, end
+        );
+
+        for (Course course : data.getCourses()) {
+            assertFalse(course.getStudents().contains(removed));
+        }
+        for (List<ExamSession> sessions : previous.getSchedule().values()) {
+            for (ExamSession session : sessions) {
+                ExamSession now = session.getCourse().getExamSessions().get(0);
+                assertEquals(session.getStartTime(), now.getStartTime());
+                for (ExamPartition partition : now.getPartitions()) {
+                    assertFalse(partition.hasStudent(removed.getId()));
+                }
+            }
+        }
+        verifyNoStudentConflicts(repaired.getSchedule());
+    }
+
+    @Test
+    @DisplayName("Warm start keeps every exam of the seed schedule, moved to the new exam period")
+    void testWarmStart() {
+        TestDataGenerator.GeneratedData data = conflictingData();
+
+        ExamConfig config = new ExamConfig();
+        config.setMaxExamsPerDay(2);
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(2);
+
+        ScheduleResult previous = scheduler.generateSchedule(
+            data.getStudents(), data.getCourses(), data.getClassrooms(),
+            data.getEnrollments(), config, start, end
+        );
+
+        // Next term: same courses, one week later
+        config.setSeedSchedule(previous.getStartTimes(), start);
+        ScheduleResult seeded = scheduler.generateSchedule(
+            data.getStudents(), data.getCourses(), data.getClassrooms(),
+            data.getEnrollments(), config, start.plusDays(7), end.plusDays(7)
+        );
+
+        Map<String, LocalDateTime> seededStarts = seeded.getStartTimes();
+        assertTrue(seededStarts.size() >= previous.getStartTimes().size());
+        previous.getStartTimes().forEach((course, startTime) ->
+            assertEquals(startTime.plusDays(7), seededStarts.get(course), course + " should keep its slot"));
+        verifyNoStudentConflicts(seeded.getSchedule());
+    }
+
+    @Test
+    @DisplayName("Pinned exams keep their start time and rooms with every search enabled")
+    void testPinnedExams() {
+        TestDataGenerator.GeneratedData data = smallData();
+
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(1);
+        Course first = data.getCourses().get(0);
+        Course second = data.getCourses().get(1);
+        List<String> fixedRooms = List.of(
+            data.getClassrooms().get(6).getName(), data.getClassrooms().get(7).getName());
+        LocalDateTime firstStart = start.atTime(10, 15);
+        LocalDateTime secondStart = end.atTime(14, 0);
+
+        ExamConfig config = new ExamConfig();
+        config.setMaxExamsPerDay(2);
+        config.setPinnedExams(List.of(
+            new PinnedExam(first.getCourseName(), firstStart, fixedRooms),
+            new PinnedExam(second.getCourseName(), secondStart)
+        ));
+        config.setDecomposeByComponents(true);
+        config.setExactTimeLimitMillis(300);
+        config.setImprovementTimeLimitMillis(300);
+
+        ScheduleResult result = scheduler.generateSchedule(
+            data.getStudents(), data.getCourses(), data.getClassrooms(),
+            data.getEnrollments(), config, start, end
+        );
+
+        Map<String, LocalDateTime> starts = result.getStartTimes();
+        assertEquals(firstStart, starts.get(first.getCourseName()));
+        assertEquals(secondStart, starts.get(second.getCourseName()));
+
+        List<ExamSession> all = new ArrayList<>();
+        result.getSchedule().values().forEach(all::addAll);
+        for (ExamSession session : all) {
+            if (session.getCourse().equals(first)) {
+                assertEquals(fixedRooms, session.getPartitions().stream()
+                    .map(p -> p.getClassroom().getName()).toList());
+            }
+        }
+
+        // No classroom is used by two overlapping exams
+        for (ExamSession a : all) {
+            for (ExamSession b : all) {
+                if (a == b || !a.getStartTime().isBefore(b.getEndTime()) || !b.getStartTime().isBefore(a.getEndTime())) {
+                    continue;
+                }
+                for (ExamPartition pa : a.getPartitions()) {
+                    for (ExamPartition pb : b.getPartitions()) {
+                        assertNotEquals(pa.getClassroom(), pb.getClassroom(),
+                            a.getCourse().getCourseName() + " and " + b.getCourse().getCourseName() + " share a room");
+                    }
+                }
+            }
+        }
+        verifyNoStudentConflicts(result.getSchedule());
+
+        // A pin outside the daily exam window is rejected
+        config.setPinnedExams(List.of(new PinnedExam(second.getCourseName(), start.atTime(23, 0))));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.generateSchedule(
+            data.getStudents(), data.getCourses(), data.getClassrooms(),
+            data.getEnrollments(), config, start, end
+        ));
+    }
+
+    @Test
+    @DisplayName("A course pinned twice is rejected instead of keeping the last pin")
+    void testDuplicatePinRejected() {
+        TestDataGenerator.GeneratedData data = smallData();
+
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(1);
+        Course course = data.getCourses().get(0);
+
+        ExamConfig config = new ExamConfig();
+        config.setPinnedExams(List.of(
+            new PinnedExam(course.getCourseName(), start.atTime(10, 0)),
+            new PinnedExam(course.getCourseName(), end.atTime(10, 0))
+        ));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () ->
+            scheduler.generateSchedule(
+                data.getStudents(), data.getCourses(), data.getClassrooms(),
+                data.getEnrollments(), config, start, end
+            ));
+        assertTrue(error.getMessage().contains(course.getCourseName()));
+    }
+
+    @Test
+    @DisplayName("Pinned exams sharing a classroom must be apart by the room turnover")
+    void testOverlappingPinnedRoomsRejected() {
+        TestDataGenerator.GeneratedData data = smallData();
+
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(1);
+        Course first = data.getCourses().get(0);
+        Course second = data.getCourses().get(1);
+        String sharedRoom = data.getClassrooms().get(0).getName();
+        LocalDateTime firstStart = start.atTime(9, 0);
+        LocalDateTime firstEnd = firstStart.plusMinutes(first.getDurationMinutes());
+
+        ExamConfig config = new ExamConfig();
+        config.setRoomTurnoverMinutes(30);
+
+        // Starts after the first exam ends, but inside its room turnover
+        config.setPinnedExams(List.of(
+            new PinnedExam(first.getCourseName(), firstStart, List.of(sharedRoom)),
+            new PinnedExam(second.getCourseName(), firstEnd.plusMinutes(15), List.of(sharedRoom))
+        ));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.generateSchedule(
+            data.getStudents(), data.getCourses(), data.getClassrooms(),
+            data.getEnrollments(), config, start, end
+        ));
+
+        // Listing the same classroom twice in one pin is rejected as well
+        config.setPinnedExams(List.of(
+            new PinnedExam(first.getCourseName(), firstStart, List.of(sharedRoom, sharedRoom))
+        ));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.generateSchedule(
+            data.getStudents(), data.getCourses(), data.getClassrooms(),
+            data.getEnrollments(), config, start, end
+        ));
+
+        // Once the turnover has passed the room can be pinned again
+        LocalDateTime secondStart = firstEnd.plusMinutes(45);
+        config.setPinnedExams(List.of(
+            new PinnedExam(first.getCourseName(), firstStart, List.of(sharedRoom)),
+            new PinnedExam(second.getCourseName(), secondStart, List.of(sharedRoom))
+        ));
+        ScheduleResult result = scheduler.generateSchedule(
+            data.getStudents(), data.getCourses(), data.getClassrooms(),
+            data.getEnrollments(), config, start, end
+        );
+        assertEquals(firstStart, result.getStartTimes().get(first.getCourseName()));
+        assertEquals(secondStart, result.getStartTimes().get(second.getCourseName()));
+    }
+
+    @Test
+    @DisplayName("Randomized restarts are reproducible for a fixed seed")
+    void testRandomizedRestartsReproducible() {
+        ExamConfig config = new ExamConfig();
+        config.setMaxExamsPerDay(2);
+        config.setPortfolioRestarts(12);
+        config.setPortfolioSeed(2024);
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(2);
+
+        Map<String, Integer> evaluated = new LinkedHashMap<>();
+        int[] selected = new int[1];
+        Scheduler recording = new Scheduler(new SchedulingListener() {
+            @Override
+            public void onStrategyEvaluated(String strategyName, int scheduledCount, int courseCount) {
+                evaluated.put(strategyName, scheduledCount);
+            }
+
+            @Override
+            public void onStrategySelected(String strategyName, int scheduledCount, int courseCount) {
+                selected[0] = scheduledCount;
+            }
+        });
+
+        List<String> first = scheduleWithRestarts(recording, config, start, end);
+        List<String> second = scheduleWithRestarts(scheduler, config, start, end);
+
+        assertEquals(first, second, "The same seed should give the same schedule");
+        assertTrue(evaluated.containsKey("Randomized Restarts"), "The restarts should be evaluated");
+
+        // Restarts are only kept when they beat the fixed orderings
+        int bestOrdering = evaluated.entrySet().stream()
+            .filter(e -> !e.getKey().equals("Randomized Restarts"))
+            .mapToInt(Map.Entry::getValue).max().orElseThrow();
+        assertEquals(Math.max(bestOrdering, evaluated.get("Randomized Restarts")), selected[0]);
+
+        config.setPortfolioRestarts(0);
+        List<String> fixedOrderings = scheduleWithRestarts(scheduler, config, start, end);
+        assertTrue(first.size() >= fixedOrderings.size(),
+            "Restarts should never schedule fewer courses than the fixed orderings");
+    }
+
+    @Test
+    @DisplayName("Component decomposition schedules independent departments without conflicts")
+    void testComponentDecomposition() {
+        // Same departments twice: the scheduler links enrollments into the model
+        List<Student> plainStudents = new ArrayList<>();
+        List<Course> plainCourses = new ArrayList<>();
+        List<Enrollment> plainEnrollments = new ArrayList<>();
+        addDepartments(plainStudents, plainCourses, plainEnrollments);
+        List<Student> students = new ArrayList<>();
+        List<Course> courses = new ArrayList<>();
+        List<Enrollment> enrollments = new ArrayList<>();
+        addDepartments(students, courses, enrollments);
+
+        List<Classroom> classrooms = new ArrayList<>();
+        for (int r = 1; r <= 3; r++) {
+            classrooms.add(new Classroom(r, "Room" + r, 50));
+        }
+        LocalDate start = LocalDate.now();
+
+        int plainScheduled = scheduler.generateSchedule(plainStudents, plainCourses, classrooms, plainEnrollments,
+            new ExamConfig(), start, start.plusDays(2)).getSchedule().values().stream().mapToInt(List::size).sum();
+
+        ExamConfig config = new ExamConfig();
+        config.setDecomposeByComponents(true);
+        Map<String, Integer> strategies = new LinkedHashMap<>();
+        ScheduleResult result = new Scheduler(new SchedulingListener() {
+            @Override
+            public void onStrategyEvaluated(String strategyName, int scheduledCount, int courseCount) {
+                strategies.put(strategyName, scheduledCount);
+            }
+        }).generateSchedule(students, courses, classrooms, enrollments, config, start, start.plusDays(2));
+
+        // The orderings leave courses out, so the departments are split and merged;
+        // three rooms are too few for the merge, so the whole-problem orderings run as well
+        assertTrue(plainScheduled < courses.size(), "The instance should be too tight for the orderings");
+        assertTrue(strategies.containsKey("Component Decomposition"), "Decomposition should be evaluated");
+        assertTrue(strategies.containsKey("Conflict Score"), "The orderings should run when the merge loses courses");
+
+        int scheduled = result.getSchedule().values().stream().mapToInt(List::size).sum();
+        assertTrue(scheduled >= plainScheduled, "Decomposition is only kept when it does better");
+        assertEquals(Math.max(plainScheduled, strategies.get("Component Decomposition")), scheduled);
+        assertEquals(courses.size() - scheduled, result.getUnscheduledCourses().size());
+        verifyNoStudentConflicts(result.getSchedule());
+    }
+
+    @Test
+    @DisplayName("Component decomposition replaces the whole-problem orderings when the rooms suffice")
+    void testComponentDecompositionSkipsOrderings() {
+        List<Student> students = new ArrayList<>();
+        List<Course> courses = new ArrayList<>();
+        List<Enrollment> enrollments = new ArrayList<>();
+        addDepartments(students, courses, enrollments);
+
+        List<Classroom> classrooms = new ArrayList<>();
+        for (int r = 1; r <= 40; r++) {
+            classrooms.add(new Classroom(r, "Room" + r, 50));
+        }
+        LocalDate start = LocalDate.now();
+
+        ExamConfig config = new ExamConfig();
+        config.setDecomposeByComponents(true);
+        Map<String, Integer> strategies = new LinkedHashMap<>();
+        ScheduleResult result = new Scheduler(new SchedulingListener() {
+            @Override
+            public void onStrategyEvaluated(String strategyName, int scheduledCount, int courseCount) {
+                strategies.put(strategyName, scheduledCount);
+            }
+        }).generateSchedule(students, courses, classrooms, enrollments, config, start, start.plusDays(2));
+
+        // The merge keeps every course the departments placed on their own, so the
+        // run costs the component attempts plus one merge pass and nothing more
+        assertEquals(List.of("Component Decomposition"), new ArrayList<>(strategies.keySet()));
+        int scheduled = result.getSchedule().values().stream().mapToInt(List::size).sum();
+        assertEquals((int) strategies.get("Component Decomposition"), scheduled);
+        assertEquals(courses.size() - scheduled, result.getUnscheduledCourses().size());
+        verifyNoStudentConflicts(result.getSchedule());
+    }
+
+    // Three departments with disjoint students, sharing the same rooms
+    private void addDepartments(List<Student> students, List<Course> courses, List<Enrollment> enrollments) {
+        for (int dept = 0; dept < 3; dept++) {
+            TestDataGenerator.GeneratedData data =
+                TestDataGenerator.builder()
+                    .studentCount(200)
+                    .courseCount(25)
+                    .classroomCount(1)
+                    .avgStudentsPerCourse(30, 10)
+                    .avgCoursesPerStudent(4, 1)
+                    .classroomCapacities(40)
+                    .seed(100 + dept)
+                    .build()
+                    .generate();
+
+            int idOffset = dept * 10_000;
+            String prefix = "Dept" + dept + "_";
+            for (Student s : data.getStudents()) {
+                students.add(new Student(s.getId() + idOffset, prefix + s.getStudentName()));
+            }
+            for (Course c : data.getCourses()) {
+                Course course = new Course(c.getCourseId() + idOffset, prefix + c.getCourseName());
+                course.setDurationMinutes(c.getDurationMinutes());
+                courses.add(course);
+            }
+            for (Enrollment e : data.getEnrollments()) {
+                int[] ids = Arrays.stream(e.getStudentIds()).map(id -> id + idOffset).toArray();
+                enrollments.add(new Enrollment(ids, prefix + e.getCourseName()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Async scheduling completes with the same result and reports progress")
+    void testAsyncSchedule() throws Exception {
+        TestDataGenerator.GeneratedData data =
+            TestDataGenerator.builder()
+                .studentCount(300)
+                .courseCount(30)
+                .classroomCount(10)
+                .avgStudentsPerCourse(20, 8)
+                .avgCoursesPerStudent(3, 1)
+                .classroomCapacities(30, 40, 50)
+                .seed(42)
+                .build()
+                .generate();
+
+        List<SchedulingListener.Phase> progressPhases = Collections.synchronizedList(new ArrayList<>());
+        Scheduler asyncScheduler = new Scheduler(new SchedulingListener() {
+            @Override
+            public void onProgress(Phase phase, int placedCount, int bestCount, int courseCount) {
+                progressPhases.add(phase);
+            }
+        });
+
+        LocalDate start = LocalDate.now();
+        ScheduleResult result = asyncScheduler.generateScheduleAsync(
+            data.getStudents(), data.getCourses(), data.getClassrooms(),
+            data.getEnrollments(), new ExamConfig(), start, start.plusDays(6), new CancellationToken()
+        ).get(30, TimeUnit.SECONDS);
+
+        int scheduled = result.getSchedule().values().stream().mapToInt(List::size).sum();
+        assertEquals(data.getCourses().size(), scheduled + result.getUnscheduledCourses().size());
+        assertTrue(progressPhases.contains(SchedulingListener.Phase.TIME_SLOT_ASSIGNMENT));
+        verifyNoStudentConflicts(result.getSchedule());
+    }
+
+    @Test
+    @DisplayName("A cancelled run stops without touching the courses' exam sessions")
+    void testCancelledSchedule() {
+        TestDataGenerator.GeneratedData data =
+            TestDataGenerator.builder()
+                .studentCount(300)
+                .courseCount(30)
+                .classroomCount(10)
+                .avgStudentsPerCourse(20, 8)
+                .avgCoursesPerStudent(3, 1)
+                .classroomCapacities(30, 40, 50)
+                .seed(42)
+                .build()
+                .generate();
+
+        CancellationToken cancellation = new CancellationToken();
+        cancellation.cancel();
+
+        LocalDate start = LocalDate.now();
+        ExecutionException error = assertThrows(ExecutionException.class,
+            () -> scheduler.generateScheduleAsync(
+                data.getStudents(), data.getCourses(), data.getClassrooms(),
+                data.getEnrollments(), new ExamConfig(), start, start.plusDays(6), cancellation
+            ).get(30, TimeUnit.SECONDS));
+
+        assertTrue(error.getCause() instanceof CancellationException,
+            "Expected a cancellation, got " + error.getCause());
+        for (Course course : data.getCourses()) {
+            assertTrue(course.getExamSessions().isEmpty(), "No sessions should be recorded after cancelling");
+        }
+
+        // A cancelled repair keeps the previous sessions on the courses
+        ScheduleResult previous = scheduler.generateSchedule(
+            data.getStudents(), data.getCourses(), data.getClassrooms(),
+            data.getEnrollments(), new ExamConfig(), start, start.plusDays(6));
+        error = assertThrows(ExecutionException.class,
+            () -> scheduler.repairAsync(
+                previous, new ScheduleDelta().removeStudent(data.getStudents().get(0).getId()),
+                data.getStudents(), data.getCourses(), data.getClassrooms(),
+                new ExamConfig(), start, start.plusDays(6), cancellation
+            ).get(30, TimeUnit.SECONDS));
+
+        assertTrue(error.getCause() instanceof CancellationException,
+            "Expected a cancellation, got " + error.getCause());
+        for (List<ExamSession> sessions : previous.getSchedule().values()) {
+            for (ExamSession session : sessions) {
+                assertEquals(List.of(session), session.getCourse().getExamSessions());
+            }
+        }
+    }
+
+    // Two hub courses of 9 students, each sharing one of them with each of two
+    // 4-student courses; with hubRooms() and two 50-minute starts a day all six fit only
+    // if the hubs start apart
+    private static List<Course> hubCourses(List<Student> students) {
+        List<Course> courses = new ArrayList<>();
+        for (int hub = 1; hub <= 2; hub++) {
+            Course hubCourse = courseOf(courses.size() + 1, "Hub_" + hub, 7, students);
+            courses.add(hubCourse);
+            for (int spoke = 1; spoke <= 2; spoke++) {
+                Course spokeCourse = courseOf(courses.size() + 1, "Spoke_" + hub + "_" + spoke, 4, students);
+                Student shared = students.get(students.size() - 1);
+                hubCourse.addStudent(shared);
+                shared.enrollInCourse(hubCourse);
+                courses.add(spokeCourse);
+            }
+        }
+        return courses;
+    }
+
+    // Three rooms of ten seats
+    private static List<Classroom> hubRooms() {
+        return List.of(new Classroom(1, "Room_1", 10), new Classroom(2, "Room_2", 10), new Classroom(3, "Room_3", 10));
+    }
+
+    // A 50-minute course with its own new students
+    private static Course courseOf(int id, String name, int size, List<Student> students) {
+        Course course = new Course(id, name);
+        course.setDurationMinutes(50);
+        for (int i = 0; i < size; i++) {
+            Student s = new Student(students.size() + 1, "Student_" + (students.size() + 1));
+            students.add(s);
+            course.addStudent(s);
+            s.enrollInCourse(course);
+        }
+        return course;
+    }
+
+    // Five independent courses of 70, 50, 50, 40 and 40 students, largest first;
+    // with packingRooms() and a window of one start a day, two days seat at most four
+    private static List<Course> packingCourses(List<Student> students) {
+        List<Course> courses = new ArrayList<>();
+        int[] sizes = {70, 50, 50, 40, 40};
+        for (int c = 0; c < sizes.length; c++) {
+            Course course = new Course(c + 1, "Course_" + (c + 1));
+            for (int i = 0; i < sizes[c]; i++) {
+                Student s = new Student(students.size() + 1, "Student_" + (students.size() + 1));
+                students.add(s);
+                course.addStudent(s);
+                s.enrollInCourse(course);
+            }
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    // Ten rooms of ten seats: an exam takes whole rooms, a start holds 100 students
+    private static List<Classroom> packingRooms() {
+        List<Classroom> classrooms = new ArrayList<>();
+        for (int r = 1; r <= 10; r++) {
+            classrooms.add(new Classroom(r, "Room_" + r, 10));
+        }
+        return classrooms;
+    }
+
+    // 500 students, 80 courses and 25 classrooms with more conflicts than fit;
+    // generated per test because the scheduler links enrollments into the model
+    private static TestDataGenerator.GeneratedData conflictingData() {
+        return TestDataGenerator.builder()
+            .studentCount(500)
+            .courseCount(80)
+            .classroomCount(25)
+            .avgStudentsPerCourse(30, 10)
+            .avgCoursesPerStudent(4, 2)
+            .classroomCapacities(30, 40, 50)
+            .seed(555)
+            .build()
+            .generate();
+    }
+
+    // 200 students, 40 courses and 8 classrooms: small enough for the exact search
+    private static TestDataGenerator.GeneratedData smallData() {
+        return TestDataGenerator.builder()
+            .studentCount(200)
+            .courseCount(40)
+            .classroomCount(8)
+            .avgStudentsPerCourse(30, 10)
+            .avgCoursesPerStudent(4, 2)
+            .classroomCapacities(30, 40, 50)
+            .seed(818)
+            .build()
+            .generate();
+    }
+
+    // Generates fresh data (the scheduler links enrollments into the model) and
+    // returns "course@start" for every scheduled exam
+    private List<String> scheduleWithRestarts(Scheduler scheduler, ExamConfig config, LocalDate start, LocalDate end) {
+        TestDataGenerator.GeneratedData data = conflictingData();
+
+        Map<LocalDate, List<ExamSession>> schedule = scheduler.generateSchedule(
+            data.getStudents(), data.getCourses(), data.getClassrooms(),
+            data.getEnrollments(), config, start, end
+        ).getSchedule();
+        verifyNoStudentConflicts(schedule);
+
+        List<String> exams = new ArrayList<>();
+        for (List<ExamSession> sessions : schedule.values()) {
+            for (ExamSession session : sessions) {
+                exams.add(session.getCourse().getCourseName() + "@" + session.getStartTime());
+            }
+        }
+        return exams;
+    }
+
     // Helper method to verify no student has conflicting exams
     private void verifyNoStudentConflicts(Map<LocalDate, List<ExamSession>> schedule) {
         Map<String, List<ExamSession>> slotMap = new HashMap<>();
@@ -0,0 +1,53 @@
+package examschd.service;
+
+import examschd.model.ExamConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartTimeGridTest {
+
+    private StartTimeGrid gridFor(int granularityMinutes, int days, int... durations) {
+        ExamConfig config = new ExamConfig();   // 09:00-21:00 window
+        TimeHorizon horizon = new TimeHorizon(LocalDate.of(2025, 1, 6), days, config);
+        return new StartTimeGrid(horizon, granularityMinutes, durations);
+    }
+
+    @Test
+    @DisplayName("Slots cover each day's exam window at the configured granularity")
+    void testSlots() {
+        StartTimeGrid grid = gridFor(60, 2, 120);
+
+        assertEquals(12, grid.slotsPerDay());
+        assertEquals(24, grid.slotCount());
+        assertEquals(9 * 60, grid.start(0));
+        assertEquals(20 * 60, grid.start(11));
+        assertEquals(TimeHorizon.MINUTES_PER_DAY + 9 * 60, grid.start(grid.firstSlot(1)));
+
+        assertEquals(12, grid.slotAt(TimeHorizon.MINUTES_PER_DAY + 9 * 60));
+        assertEquals(-1, grid.slotAt(9 * 60 + 30));
+
+        assertEquals(48, gridFor(15, 1, 60).slotsPerDay());
+        assertEquals(24, gridFor(0, 1, 60).slotsPerDay(), "Non-positive granularity falls back to 30 minutes");
+    }
+
+    @Test
+    @DisplayName("Only the slots that end by the window close fit a course")
+    void testFittingSlots() {
+        // 12-hour window, 30-minute slots: 24 per day
+        StartTimeGrid grid = gridFor(30, 2, 60, 120, 12 * 60, 13 * 60);
+
+        assertEquals(23, grid.fittingSlotsPerDay(0));   // last start 20:00
+        assertEquals(21, grid.fittingSlotsPerDay(1));   // last start 19:00
+        assertEquals(1, grid.fittingSlotsPerDay(2));    // only 09:00
+        assertEquals(0, grid.fittingSlotsPerDay(3));    // longer than the window
+
+        assertTrue(grid.fits(1, 20));
+        assertFalse(grid.fits(1, 21));
+        assertTrue(grid.fits(1, 24));                   // first slot of day 2
+        assertFalse(grid.fits(3, 0));
+    }
+}
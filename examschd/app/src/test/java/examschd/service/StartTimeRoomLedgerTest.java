@@ -0,0 +1,97 @@
+package examschd.service;
+
+import examschd.model.Classroom;
+import examschd.model.ExamConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartTimeRoomLedgerTest {
+
+    private StartTimeRoomLedger ledgerFor(Classroom... rooms) {
+        return ledgerFor(new ExamConfig(), rooms);
+    }
+
+    private StartTimeRoomLedger ledgerFor(ExamConfig config, Classroom... rooms) {
+        SchedulingProblem problem = SchedulingProblem.compile(List.of(), List.of(), List.of(rooms),
+            config, LocalDate.of(2025, 1, 6), 1);
+        return new StartTimeRoomLedger(problem);
+    }
+
+    @Test
+    @DisplayName("Exams at one start time take the largest free rooms, largest exam first")
+    void testLargestExamFirst() {
+        StartTimeRoomLedger ledger = ledgerFor(
+            new Classroom(1, "Small", 20), new Classroom(2, "Large", 50), new Classroom(3, "Medium", 30));
+
+        assertTrue(ledger.canFit(600, 100));
+        assertFalse(ledger.canFit(600, 101));
+
+        ledger.commit(600, 40);           // takes Large
+        assertEquals(40, ledger.committedStudents(600));
+        assertTrue(ledger.canFit(600, 50));    // takes Medium + Small
+        assertFalse(ledger.canFit(600, 51));
+
+        // A bigger candidate goes first: 60 takes Large + Medium, then 40 only gets Small
+        assertFalse(ledger.canFit(600, 60));
+
+        // Other start times are independent
+        assertTrue(ledger.canFit(630, 100));
+        assertEquals(0, ledger.committedStudents(630));
+    }
+
+    @Test
+    @DisplayName("Optimal room selection seats exams with the least wasted seats")
+    void testOptimalRoomSelection() {
+        Classroom[] rooms = {
+            new Classroom(1, "Hall", 100), new Classroom(2, "A", 90),
+            new Classroom(3, "B", 90), new Classroom(4, "Tiny", 10)
+        };
+
+        // Largest first: 95 takes Hall, the next 95 takes A + B, nothing is left for 90
+        StartTimeRoomLedger largestFirst = ledgerFor(rooms);
+        largestFirst.commit(600, 95);
+        largestFirst.commit(600, 95);
+        assertFalse(largestFirst.canFit(600, 90));
+
+        // Optimal: 95 takes Hall, 95 takes A + Tiny, so B still seats 90
+        ExamConfig config = new ExamConfig();
+        config.setOptimalRoomSelection(true);
+        StartTimeRoomLedger optimal = ledgerFor(config, rooms);
+        optimal.commit(600, 95);
+        optimal.commit(600, 95);
+        assertTrue(optimal.canFit(600, 90));
+        assertFalse(optimal.canFit(600, 91));
+    }
+
+    @Test
+    @DisplayName("Reserved rooms are taken out of their start time only")
+    void testReservedRooms() {
+        // Room ids follow the list order: Small = 0, Large = 1, Medium = 2
+        StartTimeRoomLedger ledger = ledgerFor(
+            new Classroom(1, "Small", 20), new Classroom(2, "Large", 50), new Classroom(3, "Medium", 30));
+
+        ledger.reserve(600, new int[] {1});
+        assertEquals(50, ledger.committedStudents(600));
+        assertTrue(ledger.canFit(600, 50));    // Medium + Small
+        assertFalse(ledger.canFit(600, 51));
+
+        ledger.commit(600, 25);           // takes Medium
+        assertTrue(ledger.canFit(600, 20));
+        assertFalse(ledger.canFit(600, 21));
+
+        assertTrue(ledger.canFit(630, 100));
+
+        ExamConfig config = new ExamConfig();
+        config.setOptimalRoomSelection(true);
+        StartTimeRoomLedger optimal = ledgerFor(config,
+            new Classroom(1, "Hall", 100), new Classroom(2, "A", 90), new Classroom(3, "Tiny", 10));
+        optimal.reserve(600, new int[] {0});
+        assertTrue(optimal.canFit(600, 100));  // A + Tiny
+        assertFalse(optimal.canFit(600, 101));
+    }
+}
@@ -0,0 +1,44 @@
+package examschd.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentTimelineTest {
+
+    @Test
+    @DisplayName("Gap check matches the [start - gap, end + gap) window of existing exams")
+    void testGapWindow() {
+        StudentTimeline timeline = new StudentTimeline(2);
+        timeline.add(new int[]{0}, 0, 1, 600, 720);   // 10:00-12:00
+
+        // Exactly touching the gap window on either side is allowed
+        assertFalse(timeline.conflicts(0, 810, 900, 90));
+        assertFalse(timeline.conflicts(0, 390, 510, 90));
+
+        // One minute inside the window is a conflict
+        assertTrue(timeline.conflicts(0, 809, 900, 90));
+        assertTrue(timeline.conflicts(0, 391, 511, 90));
+        assertTrue(timeline.conflicts(0, 600, 720, 0));
+
+        // Other students are unaffected
+        assertFalse(timeline.conflicts(1, 600, 720, 90));
+    }
+
+    @Test
+    @DisplayName("Exams added out of order are still found")
+    void testOutOfOrderInsertion() {
+        StudentTimeline timeline = new StudentTimeline(1);
+        int[] student = {0};
+        timeline.add(student, 0, 1, 2000, 2100);
+        timeline.add(student, 0, 1, 100, 200);
+        timeline.add(student, 0, 1, 1000, 1100);
+        timeline.add(student, 0, 1, 3000, 3100);
+        timeline.add(student, 0, 1, 50, 2500);       // overlapping entries are tolerated
+
+        assertTrue(timeline.conflicts(0, 1150, 1200, 30));
+        assertFalse(timeline.conflicts(0, 2700, 2800, 30));
+        assertTrue(timeline.conflicts(0, 2700, 2800, 201));
+    }
+}
@@ -0,0 +1,60 @@
+package examschd.service.readers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleCsvReaderTest {
+
+    private Path tempFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempFile = Files.createTempFile("schedule", ".csv");
+    }
+
+    private void writeCsv(String content) throws IOException {
+        try (FileWriter fw = new FileWriter(tempFile.toFile(), StandardCharsets.UTF_8)) {
+            fw.write(content);
+        }
+    }
+
+    @Test
+    void testRead_ExportedSchedule() throws Exception {
+        String csvContent = """
+                Course,Classroom,Day,StartTime,EndTime
+                CourseCode_01,Classroom_01,2025-01-06,09:00,11:00
+                CourseCode_01,Classroom_02,2025-01-06,09:00,11:00
+                CourseCode_02,Classroom_01,2025-01-07,13:30,15:30
+                """;
+        writeCsv(csvContent);
+
+        Map<String, LocalDateTime> startTimes = ScheduleCsvReader.read(tempFile.toString());
+
+        assertEquals(2, startTimes.size());
+        assertEquals(LocalDateTime.of(2025, 1, 6, 9, 0), startTimes.get("CourseCode_01"));
+        assertEquals(LocalDateTime.of(2025, 1, 7, 13, 30), startTimes.get("CourseCode_02"));
+    }
+
+    @Test
+    void testRead_InvalidTime_ShouldSkip() throws Exception {
+        String csvContent = """
+                Course,Classroom,Day,StartTime,EndTime
+                CourseCode_01,Classroom_01,2025-01-06,,
+                CourseCode_02,Classroom_01,not-a-date,09:00,11:00
+                """;
+        writeCsv(csvContent);
+
+        assertTrue(ScheduleCsvReader.read(tempFile.toString()).isEmpty());
+    }
+}